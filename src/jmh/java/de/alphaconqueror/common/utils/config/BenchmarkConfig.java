@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import static de.alphaconqueror.common.utils.config.key.ConfigKeyFactory.primitiveIntKey;
+import static de.alphaconqueror.common.utils.config.key.ConfigKeyFactory.stringKey;
+
+import com.google.common.collect.ImmutableList;
+import de.alphaconqueror.common.utils.config.adapter.ConfigurateConfigAdapter;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+
+/**
+ * Generated configs shared by the benchmarks. Every key lives at
+ * {@code section<i / 100>.key<i>}, even keys hold strings and odd keys hold ints.
+ */
+public final class BenchmarkConfig {
+
+    public static final Logger LOGGER = new Logger() {
+        @Override
+        public void info(final String s, final Object... args) {}
+
+        @Override
+        public void warn(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Throwable t) {}
+    };
+
+    private BenchmarkConfig() {}
+
+    public static String path(final int i) {
+        return "section" + i / 100 + ".key" + i;
+    }
+
+    public static List<ConfigKey<?>> keys(final int count) {
+        final ImmutableList.Builder<ConfigKey<?>> builder = ImmutableList.builder();
+
+        for (int i = 0; i < count; i++) {
+            final ConfigKey<?> key = i % 2 == 0
+                    ? stringKey(path(i), "")
+                    : primitiveIntKey(path(i), 0);
+
+            key.setOrdinal(i);
+            builder.add(key);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Writes a HOCON config for the given number of keys. Values and modification time depend
+     * on the generation, so each generation is parsed again on reload.
+     *
+     * @param file       the file
+     * @param count      the number of keys
+     * @param generation the generation
+     * @throws IOException if the file could not be written
+     */
+    public static void write(final Path file, final int count, final int generation)
+            throws IOException {
+        try (final BufferedWriter writer = Files.newBufferedWriter(file,
+                StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                if (i % 100 == 0) {
+                    writer.write("section" + i / 100 + " {\n");
+                }
+
+                writer.write("  key" + i + " = ");
+                writer.write(i % 2 == 0
+                        ? "\"value-" + i + "-" + generation + "\""
+                        : String.valueOf(i + generation));
+                writer.write('\n');
+
+                if (i % 100 == 99 || i == count - 1) {
+                    writer.write("}\n");
+                }
+            }
+        }
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(generation * 1000L));
+    }
+
+    public static final class Adapter extends ConfigurateConfigAdapter {
+
+        public Adapter(final Path path) {
+            super(LOGGER, path);
+        }
+
+        @Override
+        protected ConfigurationLoader<? extends ConfigurationNode> createLoader(final Path path) {
+            return HoconConfigurationLoader.builder().setPath(path).build();
+        }
+    }
+
+    public static final class Configuration extends KeyedConfiguration {
+
+        public Configuration(final Adapter adapter, final List<ConfigKey<?>> keys) {
+            super(LOGGER, adapter, keys);
+            this.init();
+        }
+    }
+}
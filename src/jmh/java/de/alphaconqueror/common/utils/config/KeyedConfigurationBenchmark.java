@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import de.alphaconqueror.common.utils.config.KeyedConfiguration.ValuesMap;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.IntConfigKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads of {@link KeyedConfiguration} from several threads, with and without a concurrent
+ * reload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeyedConfigurationBenchmark {
+
+    private static final int KEYS = 1000;
+
+    private Path file;
+    private KeyedConfiguration config;
+    private ConfigKey<?> stringKey;
+    private IntConfigKey intKey;
+
+    @Setup
+    public void setup() throws IOException {
+        final List<ConfigKey<?>> keys = BenchmarkConfig.keys(KEYS);
+
+        this.file = Files.createTempFile("benchmark", ".conf");
+        BenchmarkConfig.write(this.file, KEYS, 1);
+        this.config = new BenchmarkConfig.Configuration(new BenchmarkConfig.Adapter(this.file),
+                keys);
+        this.stringKey = keys.get(KEYS / 2);
+        this.intKey = (IntConfigKey) keys.get(KEYS / 2 + 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object get() {
+        return this.config.get(this.stringKey);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int getInt() {
+        return this.config.getInt(this.intKey);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int getFromSnapshot() {
+        final ValuesMap snapshot = this.config.snapshot();
+
+        return snapshot.getInt(this.intKey) + snapshot.get(this.stringKey).hashCode();
+    }
+
+    @Benchmark
+    @Group("getDuringReload")
+    @GroupThreads(3)
+    public Object getDuringReloadRead() {
+        return this.config.get(this.stringKey);
+    }
+
+    @Benchmark
+    @Group("getDuringReload")
+    @GroupThreads(1)
+    public Object getDuringReloadWrite() {
+        return this.config.reloadChanges();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full reloads, i.e. parsing and evaluating every key, for different key counts and load
+ * executor sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReloadBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int keyCount;
+
+    // 0 evaluates the keys sequentially, otherwise on a pool with the given parallelism
+    @Param({"0", "1", "2", "4", "8"})
+    public int parallelism;
+
+    private Path file;
+    private ForkJoinPool pool;
+    private KeyedConfiguration config;
+    private int generation;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.file = Files.createTempFile("benchmark", ".conf");
+        BenchmarkConfig.write(this.file, this.keyCount, this.generation);
+        this.config = new BenchmarkConfig.Configuration(new BenchmarkConfig.Adapter(this.file),
+                BenchmarkConfig.keys(this.keyCount));
+
+        if (this.parallelism > 0) {
+            this.pool = new ForkJoinPool(this.parallelism);
+            this.config.setLoadExecutor(this.pool);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void change() throws IOException {
+        // make sure every reload actually parses the file
+        BenchmarkConfig.write(this.file, this.keyCount, ++this.generation);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (this.pool != null) {
+            this.pool.shutdown();
+        }
+
+        Files.deleteIfExists(this.file);
+    }
+
+    @Benchmark
+    public ConfigChangeSet reload() {
+        return this.config.reloadChanges();
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares each collector of {@link ImmutableCollectors} with the equivalent JDK and Guava
+ * collectors, on sequential and parallel streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ImmutableCollectorsBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    // distinct values in random order
+    private Integer[] distinct;
+    // values with duplicates in random order
+    private Integer[] duplicates;
+    private TimeUnit[] enums;
+    private int[] ints;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        this.distinct = new Integer[this.size];
+        this.duplicates = new Integer[this.size];
+        this.enums = new TimeUnit[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            this.distinct[i] = i;
+            this.duplicates[i] = random.nextInt(Math.max(1, this.size / 2));
+            this.enums[i] = TimeUnit.values()[random.nextInt(TimeUnit.values().length)];
+        }
+
+        for (int i = this.size - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Integer tmp = this.distinct[i];
+
+            this.distinct[i] = this.distinct[j];
+            this.distinct[j] = tmp;
+        }
+
+        this.ints = Arrays.stream(this.distinct).mapToInt(Integer::intValue).toArray();
+    }
+
+    private <T> Stream<T> stream(final T[] array) {
+        final Stream<T> stream = Arrays.stream(array);
+
+        return this.parallel ? stream.parallel() : stream;
+    }
+
+    private IntStream stream(final int[] array) {
+        final IntStream stream = Arrays.stream(array);
+
+        return this.parallel ? stream.parallel() : stream;
+    }
+
+    @Benchmark
+    public Object toList() {
+        return this.stream(this.distinct).collect(ImmutableCollectors.toList());
+    }
+
+    @Benchmark
+    public Object toListPresized() {
+        return this.stream(this.distinct).collect(ImmutableCollectors.toList(this.size));
+    }
+
+    @Benchmark
+    public Object toListGuava() {
+        return this.stream(this.distinct).collect(ImmutableList.toImmutableList());
+    }
+
+    @Benchmark
+    public Object toListJdk() {
+        return this.stream(this.distinct).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object toImmutableIntArray() {
+        return this.stream(this.distinct).collect(ImmutableCollectors.toImmutableIntArray());
+    }
+
+    @Benchmark
+    public Object collectInts() {
+        return ImmutableCollectors.collectInts(this.stream(this.ints));
+    }
+
+    @Benchmark
+    public Object collectIntsBoxed() {
+        return this.stream(this.ints).boxed().collect(ImmutableCollectors.toList());
+    }
+
+    @Benchmark
+    public Object toSet() {
+        return this.stream(this.duplicates).collect(ImmutableCollectors.toSet());
+    }
+
+    @Benchmark
+    public Object toSetPresized() {
+        return this.stream(this.duplicates).collect(ImmutableCollectors.toSet(this.size));
+    }
+
+    @Benchmark
+    public Object toSetGuava() {
+        return this.stream(this.duplicates).collect(ImmutableSet.toImmutableSet());
+    }
+
+    @Benchmark
+    public Object toSetJdk() {
+        return this.stream(this.duplicates).collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public Object toSortedSet() {
+        return this.stream(this.duplicates).collect(ImmutableCollectors.toSortedSet());
+    }
+
+    @Benchmark
+    public Object toSortedSetComparator() {
+        return this.stream(this.duplicates)
+                .collect(ImmutableCollectors.toSortedSet(Comparator.reverseOrder()));
+    }
+
+    @Benchmark
+    public Object toSortedSetGuava() {
+        return this.stream(this.duplicates)
+                .collect(ImmutableSortedSet.toImmutableSortedSet(Comparator.naturalOrder()));
+    }
+
+    @Benchmark
+    public Object toSortedSetJdk() {
+        return this.stream(this.duplicates).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Benchmark
+    public Object toMap() {
+        return this.stream(this.distinct)
+                .collect(ImmutableCollectors.toMap(Function.identity(), String::valueOf));
+    }
+
+    @Benchmark
+    public Object toMapPresized() {
+        return this.stream(this.distinct)
+                .collect(ImmutableCollectors.toMap(Function.identity(), String::valueOf,
+                        this.size));
+    }
+
+    @Benchmark
+    public Object toMapGuava() {
+        return this.stream(this.distinct)
+                .collect(ImmutableMap.toImmutableMap(Function.identity(), String::valueOf));
+    }
+
+    @Benchmark
+    public Object toMapJdk() {
+        return this.stream(this.distinct)
+                .collect(Collectors.toMap(Function.identity(), String::valueOf));
+    }
+
+    @Benchmark
+    public Object toEnumSet() {
+        return this.stream(this.enums).collect(ImmutableCollectors.toEnumSet());
+    }
+
+    @Benchmark
+    public Object toEnumSetGuava() {
+        return this.stream(this.enums).collect(Sets.toImmutableEnumSet());
+    }
+
+    @Benchmark
+    public Object toEnumSetJdk() {
+        return this.stream(this.enums)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(TimeUnit.class)));
+    }
+
+    @Benchmark
+    public Object toEnumMap() {
+        return this.stream(this.enums)
+                .collect(ImmutableCollectors.toEnumMap(Function.identity(), TimeUnit::ordinal));
+    }
+
+    @Benchmark
+    public Object toEnumMapGuava() {
+        return this.stream(this.enums)
+                .collect(Maps.toImmutableEnumMap(Function.identity(), TimeUnit::ordinal,
+                        (l, r) -> r));
+    }
+
+    @Benchmark
+    public Object toEnumMapJdk() {
+        return this.stream(this.enums)
+                .collect(Collectors.toMap(Function.identity(), TimeUnit::ordinal, (l, r) -> r,
+                        () -> new EnumMap<>(TimeUnit.class)));
+    }
+
+    @Benchmark
+    public Object groupingBy() {
+        return this.stream(this.duplicates).collect(ImmutableCollectors.groupingBy(i -> i % 100));
+    }
+
+    @Benchmark
+    public Object groupingByJdk() {
+        return ImmutableMap.copyOf(this.stream(this.duplicates)
+                .collect(Collectors.groupingBy(i -> i % 100, Collectors.collectingAndThen(
+                        Collectors.toList(), ImmutableList::copyOf))));
+    }
+
+    @Benchmark
+    public Object toTable() {
+        return this.stream(this.distinct)
+                .collect(ImmutableCollectors.toTable(i -> i % 100, i -> i / 100,
+                        Function.identity()));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import com.google.common.collect.ImmutableList;
+import de.alphaconqueror.common.utils.config.KeyedConfiguration.ValuesMap;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The keys whose values have changed during a reload.
+ */
+public final class ConfigChangeSet {
+
+    private final List<ConfigKey<?>> keys;
+    private final ValuesMap previous;
+    private final ValuesMap current;
+    private final BitSet changed;
+
+    ConfigChangeSet(final List<ConfigKey<?>> keys, final ValuesMap previous,
+            final ValuesMap current, final BitSet changed) {
+        this.keys = keys;
+        this.previous = previous;
+        this.current = current;
+        this.changed = changed;
+    }
+
+    /**
+     * Gets the values before the reload.
+     *
+     * @return the previous snapshot
+     */
+    public ValuesMap previous() {
+        return this.previous;
+    }
+
+    /**
+     * Gets the values after the reload.
+     *
+     * @return the current snapshot
+     */
+    public ValuesMap current() {
+        return this.current;
+    }
+
+    /**
+     * Gets if the value of the given key has changed.
+     *
+     * @param key the key
+     * @return if the value has changed
+     */
+    public boolean changed(final ConfigKey<?> key) {
+        return this.changed.get(key.ordinal());
+    }
+
+    /**
+     * Gets if the value of any of the keys with the given ordinals has changed.
+     *
+     * @param ordinals the ordinals
+     * @return if any value has changed
+     */
+    boolean changedAny(final BitSet ordinals) {
+        return this.changed.intersects(ordinals);
+    }
+
+    /**
+     * Gets if no value has changed.
+     *
+     * @return if no value has changed
+     */
+    public boolean isEmpty() {
+        return this.changed.isEmpty();
+    }
+
+    /**
+     * Gets all keys whose values have changed.
+     *
+     * @return the changed keys
+     */
+    public List<ConfigKey<?>> changedKeys() {
+        final ImmutableList.Builder<ConfigKey<?>> builder = ImmutableList.builderWithExpectedSize(
+                this.changed.cardinality());
+
+        for (int i = this.changed.nextSetBit(0); i >= 0; i = this.changed.nextSetBit(i + 1)) {
+            builder.add(this.keys.get(i));
+        }
+
+        return builder.build();
+    }
+}
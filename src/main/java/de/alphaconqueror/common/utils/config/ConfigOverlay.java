@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationAdapter;
+import de.alphaconqueror.common.utils.config.key.BooleanConfigKey;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.DoubleConfigKey;
+import de.alphaconqueror.common.utils.config.key.IntConfigKey;
+import de.alphaconqueror.common.utils.config.key.LongConfigKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A view of a {@link KeyedConfiguration} in which a few keys are overridden.
+ * <p>
+ * Only the overridden values are stored, in a small open-addressing table indexed by key
+ * ordinal. Every other key is read from the current snapshot of the base configuration, so
+ * reloading the base is visible in all of its overlays immediately.
+ */
+public final class ConfigOverlay {
+
+    private final KeyedConfiguration base;
+    private final int[] ordinals;
+    private final Object[] values;
+    private final int mask;
+
+    private ConfigOverlay(final KeyedConfiguration base,
+            final Map<ConfigKey<?>, Object> overrides) {
+        this.base = base;
+
+        // keep the table at most half full so that probe sequences stay short
+        final int capacity = Integer.highestOneBit(Math.max(1, overrides.size()) * 2 - 1) << 1;
+
+        this.ordinals = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+
+        for (final Map.Entry<ConfigKey<?>, Object> entry : overrides.entrySet()) {
+            final int ordinal = entry.getKey().ordinal();
+            int slot = this.slot(ordinal);
+
+            while (this.ordinals[slot] != 0) {
+                slot = (slot + 1) & this.mask;
+            }
+
+            // slots store ordinal + 1, so that 0 marks an empty slot
+            this.ordinals[slot] = ordinal + 1;
+            this.values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Creates a builder for an overlay of the given configuration.
+     *
+     * @param base the configuration to fall back to
+     * @return the builder
+     */
+    public static Builder builder(final KeyedConfiguration base) {
+        return new Builder(base);
+    }
+
+    /**
+     * Gets the value of a given key, either the overridden one or the one of the base.
+     *
+     * @param key the key
+     * @param <T> the key return type
+     * @return the value mapped to the given key. May be null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final ConfigKey<T> key) {
+        final int slot = this.find(key.ordinal());
+        return slot < 0
+                ? this.base.get(key)
+                : (T) this.values[slot];
+    }
+
+    public int getInt(final IntConfigKey key) {
+        final int slot = this.find(key.ordinal());
+        return slot < 0
+                ? this.base.getInt(key)
+                : (Integer) this.values[slot];
+    }
+
+    public long getLong(final LongConfigKey key) {
+        final int slot = this.find(key.ordinal());
+        return slot < 0
+                ? this.base.getLong(key)
+                : (Long) this.values[slot];
+    }
+
+    public double getDouble(final DoubleConfigKey key) {
+        final int slot = this.find(key.ordinal());
+        return slot < 0
+                ? this.base.getDouble(key)
+                : (Double) this.values[slot];
+    }
+
+    public boolean getBoolean(final BooleanConfigKey key) {
+        final int slot = this.find(key.ordinal());
+        return slot < 0
+                ? this.base.getBoolean(key)
+                : (Boolean) this.values[slot];
+    }
+
+    /**
+     * Checks whether the given key is overridden by this overlay.
+     *
+     * @param key the key
+     * @return true, if the key is overridden
+     */
+    public boolean overrides(final ConfigKey<?> key) {
+        return this.find(key.ordinal()) >= 0;
+    }
+
+    public KeyedConfiguration base() {
+        return this.base;
+    }
+
+    private int find(final int ordinal) {
+        int slot = this.slot(ordinal);
+        int stored;
+
+        while ((stored = this.ordinals[slot]) != 0) {
+            if (stored == ordinal + 1) {
+                return slot;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return -1;
+    }
+
+    private int slot(final int ordinal) {
+        final int hash = ordinal * 0x9E3779B9;
+        return (hash ^ hash >>> 16) & this.mask;
+    }
+
+    public static final class Builder {
+
+        private final KeyedConfiguration base;
+        private final Map<ConfigKey<?>, Object> overrides = new LinkedHashMap<>();
+
+        private Builder(final KeyedConfiguration base) {
+            this.base = base;
+        }
+
+        /**
+         * Overrides the given key with a fixed value.
+         *
+         * @param key   the key
+         * @param value the value
+         * @param <T>   the key return type
+         * @return this builder
+         */
+        public <T> Builder set(final ConfigKey<T> key, final T value) {
+            this.overrides.put(key, value);
+            return this;
+        }
+
+        /**
+         * Overrides the given key with the value it resolves to in the given adapter.
+         *
+         * @param key     the key
+         * @param adapter the adapter holding the tenant specific values
+         * @return this builder
+         */
+        public Builder resolve(final ConfigKey<?> key, final ConfigurationAdapter adapter) {
+            this.overrides.put(key, key.get(adapter));
+            return this;
+        }
+
+        public ConfigOverlay build() {
+            return new ConfigOverlay(this.base, this.overrides);
+        }
+    }
+}
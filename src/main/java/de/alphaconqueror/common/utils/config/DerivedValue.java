@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import de.alphaconqueror.common.utils.config.KeyedConfiguration.ValuesMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A value computed from config values, which is cached and only recomputed during reloads that
+ * change one of its source keys. Closing it stops the recomputation, so it is no longer
+ * referenced by its configuration.
+ *
+ * @param <T> the value type
+ * @see KeyedConfiguration#derived(java.util.Collection, Function)
+ */
+public final class DerivedValue<T> implements Supplier<T>, AutoCloseable {
+
+    private final KeyedConfiguration owner;
+    private final Function<? super ValuesMap, ? extends T> function;
+    private final ConfigChangeListener listener = changes -> this.compute(changes.current());
+    private volatile T value;
+
+    DerivedValue(final KeyedConfiguration owner,
+            final Function<? super ValuesMap, ? extends T> function) {
+        this.owner = owner;
+        this.function = function;
+    }
+
+    /**
+     * Gets the value computed from the current config values.
+     *
+     * @return the value
+     */
+    @Override
+    public T get() {
+        return this.value;
+    }
+
+    /**
+     * Unsubscribes this value from its configuration. The value is kept, but no longer
+     * recomputed.
+     */
+    @Override
+    public void close() {
+        this.owner.unsubscribe(this.listener);
+    }
+
+    ConfigChangeListener listener() {
+        return this.listener;
+    }
+
+    void compute(final ValuesMap values) {
+        this.value = this.function.apply(values);
+    }
+}
@@ -24,20 +24,48 @@
 
 package de.alphaconqueror.common.utils.config;
 
+import com.google.common.base.Throwables;
+import com.google.common.hash.HashCode;
 import de.alphaconqueror.common.utils.config.adapter.ConfigurationAdapter;
+import de.alphaconqueror.common.utils.config.key.BooleanConfigKey;
 import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.DoubleConfigKey;
+import de.alphaconqueror.common.utils.config.key.IntConfigKey;
+import de.alphaconqueror.common.utils.config.key.LongConfigKey;
+import de.alphaconqueror.common.utils.config.metrics.ConfigMetrics;
 import de.alphaconqueror.common.utils.logging.Logger;
+import de.alphaconqueror.common.utils.util.BackgroundThreads;
 import de.alphaconqueror.common.utils.util.ImmutableCollectors;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 public class KeyedConfiguration {
 
     private final Logger logger;
     private final ConfigurationAdapter adapter;
     private final List<ConfigKey<?>> keys;
-    private final ValuesMap values;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile ValuesMap values;
+    private volatile Executor loadExecutor;
+    private SnapshotCache snapshotCache;
+    private volatile Executor reloadExecutor = BackgroundThreads.reloadExecutor();
+    private final ReentrantLock asyncReloadLock = new ReentrantLock();
+    private CompletableFuture<ValuesMap> runningReload;
+    private CompletableFuture<ValuesMap> pendingReload;
+    private ConfigChangeSet lastChanges;
 
     public KeyedConfiguration(final Logger logger, final ConfigurationAdapter adapter,
             final List<ConfigKey<?>> keys) {
@@ -49,6 +77,10 @@ public class KeyedConfiguration {
 
     /**
      * Initialises the given pseudo-enum keys class.
+     * <p>
+     * This scans the class reflectively. To avoid reflection, annotate the keys class with
+     * {@link de.alphaconqueror.common.utils.config.registry.GenerateKeyRegistry} and use the
+     * generated registry instead.
      *
      * @param keysClass the keys class
      * @return the list of keys defined by the class with their ordinal values set
@@ -57,7 +89,7 @@ public class KeyedConfiguration {
         // get a list of all keys
         final List<ConfigKey<?>> keys = Arrays.stream(keysClass.getFields())
                 .filter(f -> Modifier.isStatic(f.getModifiers()))
-                .filter(f -> ConfigKey.class.equals(f.getType()))
+                .filter(f -> ConfigKey.class.isAssignableFrom(f.getType()))
                 .map(f -> {
                     try {
                         return (ConfigKey<?>) f.get(null);
@@ -87,40 +119,580 @@ public class KeyedConfiguration {
     }
 
     /**
-     * Reloads the configuration.
+     * Gets the int value of a given key without boxing.
+     *
+     * @param key the key
+     * @return the value mapped to the given key
+     */
+    public int getInt(final IntConfigKey key) {
+        return this.values.getInt(key);
+    }
+
+    /**
+     * Gets the long value of a given key without boxing.
+     *
+     * @param key the key
+     * @return the value mapped to the given key
+     */
+    public long getLong(final LongConfigKey key) {
+        return this.values.getLong(key);
+    }
+
+    /**
+     * Gets the double value of a given key without boxing.
+     *
+     * @param key the key
+     * @return the value mapped to the given key
+     */
+    public double getDouble(final DoubleConfigKey key) {
+        return this.values.getDouble(key);
+    }
+
+    /**
+     * Gets the boolean value of a given key without boxing.
+     *
+     * @param key the key
+     * @return the value mapped to the given key
+     */
+    public boolean getBoolean(final BooleanConfigKey key) {
+        return this.values.getBoolean(key);
+    }
+
+    /**
+     * Gets the current snapshot of all values.
+     * <p>
+     * A snapshot is never modified once it has been published, so every key read from it
+     * belongs to the same generation, even if a reload happens in the meantime.
+     *
+     * @return the current snapshot
+     */
+    public ValuesMap snapshot() {
+        return this.values;
+    }
+
+    /**
+     * Subscribes the given listener to changes of the given keys. The listener is notified once
+     * per reload if any of the keys has changed.
+     *
+     * @param listener the listener
+     * @param keys     the keys to subscribe to
+     */
+    public void subscribe(final ConfigChangeListener listener, final ConfigKey<?>... keys) {
+        this.subscribe(listener, Arrays.asList(keys));
+    }
+
+    /**
+     * Subscribes the given listener to changes of the given keys. The listener is notified once
+     * per reload if any of the keys has changed.
+     *
+     * @param listener the listener
+     * @param keys     the keys to subscribe to
+     */
+    public void subscribe(final ConfigChangeListener listener,
+            final Collection<? extends ConfigKey<?>> keys) {
+        final BitSet ordinals = new BitSet(this.keys.size());
+
+        for (final ConfigKey<?> key : keys) {
+            ordinals.set(key.ordinal());
+        }
+
+        this.subscriptions.add(new Subscription(listener, ordinals));
+    }
+
+    /**
+     * Unsubscribes the given listener from all keys.
+     *
+     * @param listener the listener
+     */
+    public void unsubscribe(final ConfigChangeListener listener) {
+        this.subscriptions.removeIf(s -> s.listener == listener);
+    }
+
+    /**
+     * Creates a value derived from the values of the given keys, e.g. a pattern compiled from a
+     * string value. The value is computed right away and then recomputed during every reload
+     * that changes one of the keys, so reading it never computes anything. If the recomputation
+     * fails, the previous value is kept. The value has to be closed once it is no longer needed.
+     *
+     * @param sourceKeys the keys the value is derived from
+     * @param function   the function computing the value from a snapshot
+     * @param <T>        the value type
+     * @return the derived value
+     */
+    public <T> DerivedValue<T> derived(
+            final Collection<? extends ConfigKey<?>> sourceKeys,
+            final Function<? super ValuesMap, ? extends T> function) {
+        this.reloadLock.lock();
+
+        try {
+            final DerivedValue<T> derived = new DerivedValue<>(this, function);
+
+            // holding the lock, no reload can happen between computing and subscribing
+            derived.compute(this.values);
+            this.subscribe(derived.listener(), sourceKeys);
+            return derived;
+        } finally {
+            this.reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the configuration and notifies all listeners subscribed to changed keys.
      */
     public void reload() {
-        this.adapter.reload();
-        this.load(false);
+        this.reloadChanges();
+    }
+
+    /**
+     * Reloads the configuration and notifies all listeners subscribed to changed keys.
+     *
+     * @return the changes of the reload
+     */
+    public ConfigChangeSet reloadChanges() {
+        this.reloadLock.lock();
+
+        try {
+            final long start = System.nanoTime();
+            final SnapshotCache snapshotCache = this.snapshotCache;
+            final HashCode fingerprint = snapshotCache == null
+                    ? null
+                    : this.fingerprint(snapshotCache);
+
+            this.resolveLiveLazyValues();
+            this.adapter.reload();
+            this.load(false);
+
+            final ConfigChangeSet changes = this.takeChanges();
+
+            this.adapter.getMetrics().recordReload(System.nanoTime() - start);
+
+            if (changes.isEmpty()) {
+                return changes;
+            }
+
+            if (fingerprint != null) {
+                snapshotCache.write(fingerprint, this.keys, changes.current());
+            }
+
+            for (final Subscription subscription : this.subscriptions) {
+                if (changes.changedAny(subscription.ordinals)) {
+                    try {
+                        subscription.listener.onChange(changes);
+                    } catch (final RuntimeException e) {
+                        this.logger.severe("Could not notify config change listener.", e);
+                    }
+                }
+            }
+
+            return changes;
+        } finally {
+            this.reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the configuration in the background.
+     * <p>
+     * Reloads are coalesced: if a reload is already running, all callers arriving in the
+     * meantime share a single follow-up reload, which starts once the running one has finished.
+     *
+     * @return the future of the snapshot after the reload
+     */
+    public CompletableFuture<ValuesMap> reloadAsync() {
+        final CompletableFuture<ValuesMap> future = new CompletableFuture<>();
+
+        this.asyncReloadLock.lock();
+
+        try {
+            if (this.runningReload != null) {
+                if (this.pendingReload == null) {
+                    this.pendingReload = future;
+                }
+
+                return this.pendingReload;
+            }
+
+            this.runningReload = future;
+        } finally {
+            this.asyncReloadLock.unlock();
+        }
+
+        // started outside of the lock, a synchronous executor runs the whole reload right here
+        this.startReload(future);
+        return future;
+    }
+
+    /**
+     * Sets the executor running the reloads started by {@link #reloadAsync()}. Defaults to
+     * {@link BackgroundThreads#reloadExecutor()}.
+     *
+     * @param reloadExecutor the executor
+     */
+    public void setReloadExecutor(final Executor reloadExecutor) {
+        this.reloadExecutor = reloadExecutor;
+    }
+
+    /**
+     * Sets the executor used to evaluate keys concurrently during (re)loads, e.g.
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}. If null, keys are evaluated one
+     * after another on the loading thread, which is the default.
+     * <p>
+     * The adapter and all {@link de.alphaconqueror.common.utils.config.key.DefaultConfigKey}
+     * functions have to support concurrent reads, which the adapters of this library do.
+     *
+     * @param loadExecutor the executor, may be null
+     */
+    public void setLoadExecutor(final Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+    }
+
+    /**
+     * Enables the snapshot cache. After a successful load, the resolved values are written to
+     * the given snapshot file, keyed by a hash of the source file and the keys. On the next
+     * initialisation, the values are restored from the snapshot instead of being resolved if
+     * neither has changed. The cache is only used if all keys are
+     * {@link de.alphaconqueror.common.utils.config.key.SimpleConfigKey}s with plain values,
+     * created with one of the factories defined by
+     * {@link de.alphaconqueror.common.utils.config.key.ConfigKeyFactory}, and the adapter is
+     * {@link ConfigurationAdapter#isDeterminedBySource() determined by the source file}.
+     * <p>
+     * To skip parsing entirely, the adapter has to load lazily, e.g. a
+     * {@link de.alphaconqueror.common.utils.config.adapter.ConfigurateConfigAdapter} created
+     * with {@code lazy} set to true. Has to be called before {@link #init()}.
+     *
+     * @param snapshotFile the snapshot file
+     * @param sourceFile   the config source file
+     */
+    public void setSnapshotCache(final Path snapshotFile, final Path sourceFile) {
+        this.snapshotCache = new SnapshotCache(this.logger, snapshotFile, sourceFile);
     }
 
     protected void init() {
+        final SnapshotCache snapshotCache = this.snapshotCache;
+
+        if (snapshotCache == null) {
+            this.load(true);
+            return;
+        }
+
+        final HashCode fingerprint = this.fingerprint(snapshotCache);
+
+        if (fingerprint != null) {
+            final ValuesMap values = snapshotCache.read(fingerprint, this.keys);
+
+            if (values != null) {
+                this.values = values;
+                return;
+            }
+        }
+
         this.load(true);
+
+        if (fingerprint != null) {
+            snapshotCache.write(fingerprint, this.keys, this.values);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the snapshot cache.
+     *
+     * @param snapshotCache the snapshot cache
+     * @return the fingerprint, or null if the values cannot be cached
+     */
+    private HashCode fingerprint(final SnapshotCache snapshotCache) {
+        // the fingerprint only covers the source file, e.g. not expanded environment variables
+        return this.adapter.isDeterminedBySource()
+                ? snapshotCache.fingerprint(this.keys)
+                : null;
     }
 
+    /**
+     * Loads the values of all keys, or of all reloadable keys if this is not the initial load,
+     * and publishes them as a new snapshot.
+     *
+     * @param initial if this is the initial load
+     */
     protected void load(final boolean initial) {
+        // build the new generation off to the side and publish it at once
+        final ValuesMap previous = this.values;
+        final ValuesMap values = initial
+                ? new ValuesMap(this.keys.size())
+                : new ValuesMap(previous);
+        final BitSet changed = new BitSet(this.keys.size());
+        final long start = System.nanoTime();
+        final Object[] resolved = this.resolve(initial);
+
+        this.adapter.getMetrics().recordLoad(System.nanoTime() - start);
+
         for (final ConfigKey<?> key : this.keys) {
             if (initial || key.reloadable()) {
-                this.values.put(key, key.get(this.adapter));
+                final Object value = resolved[key.ordinal()];
+
+                if (!initial && key.lazy()) {
+                    final LazyValue<?> old = (LazyValue<?>) previous.values[key.ordinal()];
+
+                    // nobody has seen an unresolved value, so it cannot have changed for anyone
+                    if (!old.isResolved()) {
+                        values.put(key, value);
+                        continue;
+                    }
+
+                    if (Objects.equals(old.get(), ((LazyValue<?>) value).get())) {
+                        continue;
+                    }
+                } else if (!initial && Objects.equals(previous.get(key), value)) {
+                    // keep the previous instance if the value has not changed
+                    continue;
+                }
+
+                values.put(key, value);
+                changed.set(key.ordinal());
             }
         }
+
+        this.values = values;
+        this.lastChanges = new ConfigChangeSet(this.keys, previous, values, changed);
     }
 
+    /**
+     * Resolves the lazy values of the current generation that are read from the adapter itself,
+     * since it could not capture its state, before the adapter is reloaded.
+     */
+    private void resolveLiveLazyValues() {
+        final ValuesMap current = this.values;
+
+        for (final ConfigKey<?> key : this.keys) {
+            final Object value = current.values[key.ordinal()];
+
+            if (value instanceof LazyValue && ((LazyValue<?>) value).readsFrom(this.adapter)) {
+                ((LazyValue<?>) value).get();
+            }
+        }
+    }
+
+    /**
+     * Takes the changes recorded by the last {@link #load(boolean)}.
+     *
+     * @return the changes, empty if an overriding load did not record any
+     */
+    private ConfigChangeSet takeChanges() {
+        final ConfigChangeSet changes = this.lastChanges;
+
+        this.lastChanges = null;
+
+        if (changes != null) {
+            return changes;
+        }
+
+        final ValuesMap current = this.values;
+        return new ConfigChangeSet(this.keys, current, current, new BitSet());
+    }
+
+    private void startReload(final CompletableFuture<ValuesMap> future) {
+        try {
+            this.reloadExecutor.execute(() -> {
+                try {
+                    future.complete(this.reloadChanges().current());
+                } catch (final Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    this.finishReload();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            this.finishReload();
+        }
+    }
+
+    private void finishReload() {
+        final CompletableFuture<ValuesMap> next;
+
+        this.asyncReloadLock.lock();
+
+        try {
+            // promote the follow-up reload, if anyone asked for one
+            next = this.pendingReload;
+            this.runningReload = next;
+            this.pendingReload = null;
+        } finally {
+            this.asyncReloadLock.unlock();
+        }
+
+        if (next != null) {
+            this.startReload(next);
+        }
+    }
+
+    /**
+     * Evaluates all keys that have to be (re)loaded, concurrently if a load executor is set.
+     *
+     * @param initial if this is the initial load
+     * @return the values indexed by the ordinals of their keys
+     */
+    private Object[] resolve(final boolean initial) {
+        final Object[] resolved = new Object[this.keys.size()];
+        final Executor executor = this.loadExecutor;
+        // lazy values of this generation are read from the state of this load
+        final ConfigurationAdapter snapshot = this.adapter.snapshot();
+
+        if (executor == null) {
+            this.resolve(initial, snapshot, resolved, 0, this.keys.size());
+            return resolved;
+        }
+
+        // split the keys into a few more chunks than there are cores to even out slow keys
+        final int chunks = Math.min(this.keys.size(),
+                Runtime.getRuntime().availableProcessors() * 4);
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+
+        for (int i = 0; i < chunks; i++) {
+            final int from = (int) ((long) this.keys.size() * i / chunks);
+            final int to = (int) ((long) this.keys.size() * (i + 1) / chunks);
+
+            futures[i] = CompletableFuture.runAsync(
+                    () -> this.resolve(initial, snapshot, resolved, from, to), executor);
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (final CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+
+        return resolved;
+    }
+
+    private void resolve(final boolean initial, final ConfigurationAdapter snapshot,
+            final Object[] resolved, final int from, final int to) {
+        final ConfigMetrics metrics = this.adapter.getMetrics();
+        // only time keys if anyone is interested in slow ones
+        final boolean timed = metrics.slowKeyThresholdNanos() != Long.MAX_VALUE;
+
+        for (int i = from; i < to; i++) {
+            final ConfigKey<?> key = this.keys.get(i);
+
+            if (!initial && !key.reloadable()) {
+                continue;
+            }
+
+            if (key.lazy()) {
+                resolved[key.ordinal()] = new LazyValue<>(key, snapshot);
+                continue;
+            }
+
+            final long start = timed ? System.nanoTime() : 0;
+
+            resolved[key.ordinal()] = key.get(this.adapter);
+
+            if (timed) {
+                final long nanos = System.nanoTime() - start;
+
+                if (nanos > metrics.slowKeyThresholdNanos()) {
+                    metrics.recordSlowKey(key, nanos);
+                }
+            }
+        }
+    }
+
+    /**
+     * The values of all keys. Values of primitive keys are additionally stored unboxed in
+     * parallel arrays, which are only allocated if such keys exist.
+     */
     public static class ValuesMap {
 
         private final Object[] values;
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private BitSet booleans;
 
         public ValuesMap(final int size) {
             this.values = new Object[size];
         }
 
+        /**
+         * Creates a copy of the given values map.
+         *
+         * @param other the values map to copy
+         */
+        ValuesMap(final ValuesMap other) {
+            this.values = other.values.clone();
+            this.ints = other.ints == null ? null : other.ints.clone();
+            this.longs = other.longs == null ? null : other.longs.clone();
+            this.doubles = other.doubles == null ? null : other.doubles.clone();
+            this.booleans = other.booleans == null ? null : (BitSet) other.booleans.clone();
+        }
+
         @SuppressWarnings("unchecked")
         public <T> T get(final ConfigKey<T> key) {
-            return (T) this.values[key.ordinal()];
+            final Object value = this.values[key.ordinal()];
+
+            if (value instanceof LazyValue) {
+                return ((LazyValue<T>) value).get();
+            }
+
+            return (T) value;
+        }
+
+        public int getInt(final IntConfigKey key) {
+            return this.ints[key.ordinal()];
+        }
+
+        public long getLong(final LongConfigKey key) {
+            return this.longs[key.ordinal()];
+        }
+
+        public double getDouble(final DoubleConfigKey key) {
+            return this.doubles[key.ordinal()];
+        }
+
+        public boolean getBoolean(final BooleanConfigKey key) {
+            return this.booleans.get(key.ordinal());
         }
 
-        public void put(final ConfigKey<?> key, final Object value) {
-            this.values[key.ordinal()] = value;
+        void put(final ConfigKey<?> key, final Object value) {
+            final int ordinal = key.ordinal();
+
+            this.values[ordinal] = value;
+
+            if (key instanceof IntConfigKey) {
+                if (this.ints == null) {
+                    this.ints = new int[this.values.length];
+                }
+
+                this.ints[ordinal] = (Integer) value;
+            } else if (key instanceof LongConfigKey) {
+                if (this.longs == null) {
+                    this.longs = new long[this.values.length];
+                }
+
+                this.longs[ordinal] = (Long) value;
+            } else if (key instanceof DoubleConfigKey) {
+                if (this.doubles == null) {
+                    this.doubles = new double[this.values.length];
+                }
+
+                this.doubles[ordinal] = (Double) value;
+            } else if (key instanceof BooleanConfigKey) {
+                if (this.booleans == null) {
+                    this.booleans = new BitSet(this.values.length);
+                }
+
+                this.booleans.set(ordinal, (Boolean) value);
+            }
+        }
+    }
+
+    private static final class Subscription {
+
+        private final ConfigChangeListener listener;
+        private final BitSet ordinals;
+
+        private Subscription(final ConfigChangeListener listener, final BitSet ordinals) {
+            this.listener = listener;
+            this.ordinals = ordinals;
         }
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationAdapter;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+
+/**
+ * Holds the value of a lazy key for one generation. The value is resolved once on first access
+ * from the {@link ConfigurationAdapter#snapshot() snapshot} of the adapter taken when the
+ * generation was loaded, so it is the value of that generation no matter how many reloads have
+ * happened since.
+ * <p>
+ * Adapters that cannot capture their state hand out themselves as snapshot. The owning
+ * configuration resolves values read from such an adapter before reloading it.
+ *
+ * @param <T> the value type
+ */
+final class LazyValue<T> {
+
+    private final ConfigKey<T> key;
+    private ConfigurationAdapter adapter;
+    private volatile boolean resolved;
+    private T value;
+
+    LazyValue(final ConfigKey<T> key, final ConfigurationAdapter adapter) {
+        this.key = key;
+        this.adapter = adapter;
+    }
+
+    T get() {
+        if (!this.resolved) {
+            synchronized (this) {
+                if (!this.resolved) {
+                    this.value = this.key.get(this.adapter);
+                    // the snapshot is not needed anymore
+                    this.adapter = null;
+                    this.resolved = true;
+                }
+            }
+        }
+
+        return this.value;
+    }
+
+    /**
+     * Gets if this value has been resolved.
+     *
+     * @return if resolved
+     */
+    boolean isResolved() {
+        return this.resolved;
+    }
+
+    /**
+     * Gets if this value has not been resolved yet and will be read from the given adapter.
+     *
+     * @param adapter the adapter
+     * @return if the value is still to be read from the adapter
+     */
+    synchronized boolean readsFrom(final ConfigurationAdapter adapter) {
+        return this.adapter == adapter;
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+import de.alphaconqueror.common.utils.config.KeyedConfiguration.ValuesMap;
+import de.alphaconqueror.common.utils.config.key.ComparableConfigKey;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.ConfigKeyFactory;
+import de.alphaconqueror.common.utils.config.key.DoubleConfigKey;
+import de.alphaconqueror.common.utils.config.key.IntConfigKey;
+import de.alphaconqueror.common.utils.config.key.LongConfigKey;
+import de.alphaconqueror.common.utils.config.key.SimpleConfigKey;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores resolved values in a compact binary file, keyed by a hash of the config source and the
+ * key schema, so they can be restored without parsing the source again.
+ * <p>
+ * The schema covers the type, factory, path, default value and validation of every key. Only
+ * the factories defined by {@link ConfigKeyFactory} are identified by name, custom factories
+ * are code that cannot be fingerprinted, so keys using them are not cached.
+ */
+final class SnapshotCache {
+
+    private static final int MAGIC = 0x4b435331;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte LIST = 6;
+    private static final byte MAP = 7;
+    private static final byte INT_ARRAY = 8;
+    private static final byte LONG_ARRAY = 9;
+    private static final byte DOUBLE_ARRAY = 10;
+
+    private static final Map<ConfigKeyFactory<?>, String> FACTORY_NAMES = factoryNames();
+
+    private final Logger logger;
+    private final Path file;
+    private final Path source;
+
+    SnapshotCache(final Logger logger, final Path file, final Path source) {
+        this.logger = logger;
+        this.file = file;
+        this.source = source;
+    }
+
+    /**
+     * Computes the fingerprint of the source and the given keys.
+     *
+     * @param keys the keys
+     * @return the fingerprint, or null if the keys cannot be cached or the source is not
+     * readable
+     */
+    HashCode fingerprint(final List<ConfigKey<?>> keys) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+
+        for (final ConfigKey<?> key : keys) {
+            final String factory = key instanceof SimpleConfigKey
+                    ? FACTORY_NAMES.get(((SimpleConfigKey<?>) key).factory())
+                    : null;
+
+            // derived values and custom factories depend on code, which cannot be fingerprinted
+            if (factory == null) {
+                return null;
+            }
+
+            hasher.putString(describe((SimpleConfigKey<?>) key, factory),
+                    StandardCharsets.UTF_8);
+        }
+
+        try {
+            return hasher.putBytes(MoreFiles.asByteSource(this.source)
+                            .hash(Hashing.murmur3_128())
+                            .asBytes())
+                    .hash();
+        } catch (final IOException e) {
+            this.logger.warn("Could not read config source '{}': {}", this.source,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the snapshot if it matches the given fingerprint.
+     *
+     * @param fingerprint the fingerprint
+     * @param keys        the keys
+     * @return the values, or null if there is no matching snapshot
+     */
+    ValuesMap read(final HashCode fingerprint, final List<ConfigKey<?>> keys) {
+        if (!Files.isRegularFile(this.file)) {
+            return null;
+        }
+
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+
+            final byte[] hash = new byte[buffer.getInt()];
+
+            buffer.get(hash);
+
+            if (!HashCode.fromBytes(hash).equals(fingerprint) || buffer.getInt() != keys.size()) {
+                return null;
+            }
+
+            final ValuesMap values = new ValuesMap(keys.size());
+
+            for (final ConfigKey<?> key : keys) {
+                values.put(key, decode(buffer));
+            }
+
+            return values;
+        } catch (final IOException | RuntimeException e) {
+            this.logger.warn("Could not read config snapshot '{}': {}", this.file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given values as snapshot for the given fingerprint.
+     *
+     * @param fingerprint the fingerprint
+     * @param keys        the keys
+     * @param values      the values
+     */
+    void write(final HashCode fingerprint, final List<ConfigKey<?>> keys,
+            final ValuesMap values) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(fingerprint.bits() / Byte.SIZE);
+            out.write(fingerprint.asBytes());
+            out.writeInt(keys.size());
+
+            for (final ConfigKey<?> key : keys) {
+                encode(out, values.get(key));
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        } catch (final IllegalArgumentException e) {
+            this.logger.info("Config snapshot is not written: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            final Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+
+            Files.write(temp, bytes.toByteArray());
+
+            try {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            this.logger.warn("Could not write config snapshot '{}': {}", this.file, e);
+        }
+    }
+
+    /**
+     * Maps the factories defined by {@link ConfigKeyFactory} to the names of their constants.
+     *
+     * @return the names by factory
+     */
+    private static Map<ConfigKeyFactory<?>, String> factoryNames() {
+        final Map<ConfigKeyFactory<?>, String> names = new IdentityHashMap<>();
+
+        for (final Field field : ConfigKeyFactory.class.getFields()) {
+            if (ConfigKeyFactory.class.isAssignableFrom(field.getType())) {
+                try {
+                    names.put((ConfigKeyFactory<?>) field.get(null), field.getName());
+                } catch (final IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        return Collections.unmodifiableMap(names);
+    }
+
+    private static String describe(final SimpleConfigKey<?> key, final String factory) {
+        final StringBuilder builder = new StringBuilder().append(key.getClass().getName())
+                .append('|')
+                .append(factory)
+                .append('|')
+                .append(key.ordinal())
+                .append('|')
+                .append(key.reloadable())
+                .append('|')
+                .append(key.path())
+                .append('|')
+                .append(key.def())
+                .append('|')
+                .append(key.possibilities());
+
+        if (key instanceof ComparableConfigKey) {
+            final ComparableConfigKey<?> comparable = (ComparableConfigKey<?>) key;
+
+            builder.append('|').append(comparable.getMin()).append('|').append(comparable.getMax());
+        } else if (key instanceof IntConfigKey) {
+            final IntConfigKey primitive = (IntConfigKey) key;
+
+            builder.append('|').append(primitive.getMin()).append('|').append(primitive.getMax());
+        } else if (key instanceof LongConfigKey) {
+            final LongConfigKey primitive = (LongConfigKey) key;
+
+            builder.append('|').append(primitive.getMin()).append('|').append(primitive.getMax());
+        } else if (key instanceof DoubleConfigKey) {
+            final DoubleConfigKey primitive = (DoubleConfigKey) key;
+
+            builder.append('|').append(primitive.getMin()).append('|').append(primitive.getMax());
+        }
+
+        return builder.append('\n').toString();
+    }
+
+    private static void encode(final DataOutputStream out, final Object value)
+            throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+
+            for (final Object element : list) {
+                encode(out, element);
+            }
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String)) {
+                    throw new IllegalArgumentException(
+                            "Unsupported map key type " + entry.getKey().getClass().getName());
+                }
+
+                writeString(out, (String) entry.getKey());
+                encode(out, entry.getValue());
+            }
+        } else if (value instanceof ImmutableIntArray) {
+            final ImmutableIntArray array = (ImmutableIntArray) value;
+
+            out.writeByte(INT_ARRAY);
+            out.writeInt(array.length());
+
+            for (int i = 0; i < array.length(); i++) {
+                out.writeInt(array.get(i));
+            }
+        } else if (value instanceof ImmutableLongArray) {
+            final ImmutableLongArray array = (ImmutableLongArray) value;
+
+            out.writeByte(LONG_ARRAY);
+            out.writeInt(array.length());
+
+            for (int i = 0; i < array.length(); i++) {
+                out.writeLong(array.get(i));
+            }
+        } else if (value instanceof ImmutableDoubleArray) {
+            final ImmutableDoubleArray array = (ImmutableDoubleArray) value;
+
+            out.writeByte(DOUBLE_ARRAY);
+            out.writeInt(array.length());
+
+            for (int i = 0; i < array.length(); i++) {
+                out.writeDouble(array.get(i));
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported value type " + value.getClass().getName());
+        }
+    }
+
+    private static Object decode(final ByteBuffer buffer) {
+        final byte type = buffer.get();
+
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(buffer);
+            case INT:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case DOUBLE:
+                return buffer.getDouble();
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case LIST: {
+                final int size = buffer.getInt();
+                final ImmutableList.Builder<Object> builder =
+                        ImmutableList.builderWithExpectedSize(size);
+
+                for (int i = 0; i < size; i++) {
+                    builder.add(decode(buffer));
+                }
+
+                return builder.build();
+            }
+            case MAP: {
+                final int size = buffer.getInt();
+                final ImmutableMap.Builder<String, Object> builder =
+                        ImmutableMap.builderWithExpectedSize(size);
+
+                for (int i = 0; i < size; i++) {
+                    builder.put(readString(buffer), decode(buffer));
+                }
+
+                return builder.build();
+            }
+            case INT_ARRAY: {
+                final int[] array = new int[buffer.getInt()];
+
+                buffer.asIntBuffer().get(array);
+                buffer.position(buffer.position() + array.length * Integer.BYTES);
+                return ImmutableIntArray.copyOf(array);
+            }
+            case LONG_ARRAY: {
+                final long[] array = new long[buffer.getInt()];
+
+                buffer.asLongBuffer().get(array);
+                buffer.position(buffer.position() + array.length * Long.BYTES);
+                return ImmutableLongArray.copyOf(array);
+            }
+            case DOUBLE_ARRAY: {
+                final double[] array = new double[buffer.getInt()];
+
+                buffer.asDoubleBuffer().get(array);
+                buffer.position(buffer.position() + array.length * Double.BYTES);
+                return ImmutableDoubleArray.copyOf(array);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown value type " + type);
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String s)
+            throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import de.alphaconqueror.common.utils.logging.Logger;
+import de.alphaconqueror.common.utils.util.BackgroundThreads;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a single config file, or all files of a config directory, and runs an action on a
+ * background thread once a file has been changed.
+ * <p>
+ * Bursts of changes, like the ones editors produce while saving, are debounced: the action
+ * only runs after the file has been quiet for the given debounce time.
+ */
+public final class ConfigFileWatcher implements AutoCloseable {
+
+    private final Logger logger;
+    private final Path file;
+    private final boolean directory;
+    private final long debounceMillis;
+    private final Runnable action;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private ConfigFileWatcher(final Logger logger, final Path file, final boolean directory,
+            final long debounceMillis, final Runnable action) throws IOException {
+        this.logger = logger;
+        this.file = file.toAbsolutePath();
+        this.directory = directory;
+        this.debounceMillis = debounceMillis;
+        this.action = action;
+        this.watchService = this.file.getFileSystem().newWatchService();
+        this.thread = BackgroundThreads.newThread("config-watcher-" + this.file.getFileName(),
+                this::run);
+
+        if (directory) {
+            this.file.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } else {
+            // watch the directory, editors often replace the file instead of writing to it
+            this.file.getParent()
+                    .register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+    }
+
+    /**
+     * Starts watching the given file.
+     *
+     * @param logger         the logger
+     * @param file           the file to watch
+     * @param debounceMillis the time in milliseconds the file has to be quiet before the action
+     *                       runs
+     * @param action         the action to run once the file has changed, e.g. a reload
+     * @return the started watcher
+     * @throws IOException if the file could not be watched
+     */
+    public static ConfigFileWatcher watch(final Logger logger, final Path file,
+            final long debounceMillis, final Runnable action) throws IOException {
+        final ConfigFileWatcher watcher = new ConfigFileWatcher(logger, file, false,
+                debounceMillis, action);
+
+        watcher.thread.start();
+        return watcher;
+    }
+
+    /**
+     * Starts watching all files of the given directory, including files being added or removed.
+     *
+     * @param logger         the logger
+     * @param directory      the directory to watch
+     * @param debounceMillis the time in milliseconds the directory has to be quiet before the
+     *                       action runs
+     * @param action         the action to run once a file has changed, e.g. a reload
+     * @return the started watcher
+     * @throws IOException if the directory could not be watched
+     */
+    public static ConfigFileWatcher watchDirectory(final Logger logger, final Path directory,
+            final long debounceMillis, final Runnable action) throws IOException {
+        final ConfigFileWatcher watcher = new ConfigFileWatcher(logger, directory, true,
+                debounceMillis, action);
+
+        watcher.thread.start();
+        return watcher;
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    @Override
+    public void close() throws IOException {
+        this.thread.interrupt();
+        this.watchService.close();
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!this.poll(this.watchService.take())) {
+                    continue;
+                }
+
+                // wait until the file has been quiet for the debounce time
+                WatchKey key;
+
+                while ((key = this.watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS))
+                        != null) {
+                    this.poll(key);
+                }
+
+                try {
+                    this.action.run();
+                } catch (final RuntimeException e) {
+                    this.logger.severe("Could not reload config file '" + this.file + "'.", e);
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            // the watcher has been closed
+        }
+    }
+
+    /**
+     * Polls all events of the given key and resets it.
+     *
+     * @param key the key
+     * @return if any of the events concerns the watched file or directory
+     */
+    private boolean poll(final WatchKey key) {
+        boolean changed = false;
+
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (this.directory || event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || this.file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+
+        if (!key.reset()) {
+            this.logger.warn("Stopped watching config file '{}', its directory is no longer "
+                    + "accessible.", this.file);
+            Thread.currentThread().interrupt();
+        }
+
+        return changed;
+    }
+}
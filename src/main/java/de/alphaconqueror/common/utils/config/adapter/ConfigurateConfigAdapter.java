@@ -25,14 +25,30 @@
 package de.alphaconqueror.common.utils.config.adapter;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+import de.alphaconqueror.common.utils.config.metrics.ConfigMetrics;
 import de.alphaconqueror.common.utils.logging.Logger;
+import de.alphaconqueror.common.utils.util.StringDoubleMap;
+import de.alphaconqueror.common.utils.util.StringIntMap;
+import de.alphaconqueror.common.utils.util.StringLongMap;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
 import ninja.leaping.configurate.Types;
 import ninja.leaping.configurate.loader.ConfigurationLoader;
 
@@ -40,12 +56,47 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
 
     private final Logger logger;
     private final Path path;
-    private ConfigurationNode root;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Map<String, ConfigurationNode> index;
+    private FileFingerprint fingerprint;
+    private Set<String> retainedPaths;
+    private volatile boolean interpolate;
+    private volatile ConfigMetrics metrics = ConfigMetrics.NONE;
 
     public ConfigurateConfigAdapter(final Logger logger, final Path path) {
+        this(logger, path, false);
+    }
+
+    /**
+     * Creates a new adapter.
+     *
+     * @param logger the logger
+     * @param path   the path of the config file
+     * @param lazy   if true, the file is not loaded before a value is requested for the first
+     *               time
+     */
+    public ConfigurateConfigAdapter(final Logger logger, final Path path, final boolean lazy) {
         this.logger = logger;
         this.path = path;
-        this.reload();
+
+        if (!lazy) {
+            this.reload();
+        }
+    }
+
+    /**
+     * Creates a read-only copy of the given adapter over the given index.
+     *
+     * @param source the adapter
+     * @param index  the index loaded by the adapter
+     */
+    private ConfigurateConfigAdapter(final ConfigurateConfigAdapter source,
+            final Map<String, ConfigurationNode> index) {
+        this.logger = source.logger;
+        this.path = source.path;
+        this.index = index;
+        this.interpolate = source.interpolate;
+        this.metrics = source.metrics;
     }
 
     protected abstract ConfigurationLoader<? extends ConfigurationNode> createLoader(Path path);
@@ -55,15 +106,159 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
         return this.logger;
     }
 
+    @Override
+    public ConfigMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    public void setMetrics(final ConfigMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts watching the config file and runs the given action in the background whenever
+     * the file has been changed.
+     *
+     * @param action         the action to run, e.g. a reload of the keyed configuration
+     * @param debounceMillis the time in milliseconds the file has to be quiet before the action
+     *                       runs
+     * @return the watcher, which has to be closed to stop watching
+     * @throws IOException if the file could not be watched
+     */
+    public ConfigFileWatcher watch(final Runnable action, final long debounceMillis)
+            throws IOException {
+        return ConfigFileWatcher.watch(this.logger, this.path, debounceMillis, action);
+    }
+
+    /**
+     * Gets a layer backed by the config file of this adapter, to be stacked in a
+     * {@link LayeredConfigAdapter}.
+     *
+     * @return the layer
+     */
+    public ConfigurationLayer asLayer() {
+        return new ConfigurationLayer() {
+            @Override
+            public boolean hasChanged() {
+                return ConfigurateConfigAdapter.this.hasChanged();
+            }
+
+            @Override
+            public Map<String, Object> load() {
+                return ConfigurateConfigAdapter.this.leafValues();
+            }
+        };
+    }
+
+    /**
+     * Restricts the adapter to the subtrees at the given paths, e.g. the paths of all registered
+     * keys as provided by
+     * {@link de.alphaconqueror.common.utils.config.registry.KeyRegistry#paths()}. Everything
+     * else is dropped right after parsing, so large documents do not stay in memory. Values
+     * outside of these subtrees are reported as missing.
+     *
+     * @param paths the dotted paths to retain, or null to retain the whole document
+     */
+    public void setRetainedPaths(final Collection<String> paths) {
+        this.lock.lock();
+
+        try {
+            this.retainedPaths = paths == null ? null : ImmutableSet.copyOf(paths);
+
+            // the dropped parts are gone, so the document has to be parsed again
+            if (this.index != null) {
+                this.invalidate();
+                this.reload();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Enables the expansion of {@code ${name}} references in string values. A reference is
+     * replaced by the value at the dotted path {@code name} or, if there is none, by the
+     * environment variable {@code name}. References are expanded once per reload, before the
+     * document is restricted to the {@link #setRetainedPaths(Collection) retained paths}.
+     *
+     * @param interpolate whether to expand references
+     */
+    public void setInterpolation(final boolean interpolate) {
+        this.lock.lock();
+
+        try {
+            this.interpolate = interpolate;
+
+            if (this.index != null) {
+                this.invalidate();
+                this.reload();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets if the values are determined by the config file alone, which is not the case if
+     * {@link #setInterpolation(boolean) interpolation} may expand environment variables.
+     *
+     * @return if the values only depend on the config file
+     */
+    @Override
+    public boolean isDeterminedBySource() {
+        return !this.interpolate;
+    }
+
+    /**
+     * Gets a read-only adapter over the nodes indexed by the last reload. Every reload indexes a
+     * newly parsed tree, so capturing the index is enough. Loads the config file first if the
+     * adapter is lazy and has not been loaded yet.
+     *
+     * @return the captured adapter
+     */
+    @Override
+    public ConfigurationAdapter snapshot() {
+        Map<String, ConfigurationNode> index = this.index;
+
+        if (index == null) {
+            this.reload();
+            index = this.index;
+        }
+
+        return new Snapshot(this, index);
+    }
+
+    /**
+     * Reloads the config file. The file is not parsed again if neither its modification time nor
+     * its content has changed since the last reload.
+     */
     @Override
     public void reload() {
-        final ConfigurationLoader<? extends ConfigurationNode> loader = this.createLoader(
-                this.path);
+        this.lock.lock();
 
         try {
-            this.root = loader.load();
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
+            final ConfigurationNode root;
+
+            try {
+                root = this.parse();
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (root == null) {
+                return;
+            }
+
+            if (this.interpolate) {
+                Interpolator.interpolate(this.logger, System::getenv, root);
+            }
+
+            final Map<String, ConfigurationNode> index = new HashMap<>();
+
+            indexChildren(index, null, this.retainedPaths == null ? root : this.retain(root));
+            this.index = index;
+        } finally {
+            this.lock.unlock();
         }
     }
 
@@ -71,7 +266,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public String getString(final String path, final String def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual()) {
+        if (node == null) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -83,7 +278,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public int getInteger(final String path, final int def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual()) {
+        if (node == null) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -95,7 +290,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public long getLong(final String path, final long def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual()) {
+        if (node == null) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -107,7 +302,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public double getDouble(final String path, final double def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual()) {
+        if (node == null) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -119,7 +314,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public boolean getBoolean(final String path, final boolean def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual()) {
+        if (node == null) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -131,7 +326,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public List<String> getStringList(final String path, final List<String> def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual() || !node.isList()) {
+        if (node == null || !node.isList()) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -143,7 +338,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public List<Integer> getIntList(final String path, final List<Integer> def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual() || !node.isList()) {
+        if (node == null || !node.isList()) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -155,7 +350,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public List<Long> getLongList(final String path, final List<Long> def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual() || !node.isList()) {
+        if (node == null || !node.isList()) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -167,7 +362,7 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
     public List<Double> getDoubleList(final String path, final List<Double> def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual() || !node.isList()) {
+        if (node == null || !node.isList()) {
             this.logKeyNotFound(path, def);
             return def;
         }
@@ -175,32 +370,394 @@ public abstract class ConfigurateConfigAdapter implements ConfigurationAdapter {
         return node.getList(Types::asDouble, def);
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public ImmutableIntArray getIntArray(final String path, final ImmutableIntArray def) {
+        final ConfigurationNode node = this.resolvePath(path);
+
+        if (node == null || !node.isList()) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final List<? extends ConfigurationNode> children = node.getChildrenList();
+        final ImmutableIntArray.Builder builder = ImmutableIntArray.builder(children.size());
+
+        for (final ConfigurationNode child : children) {
+            final Integer value = Types.asInt(child.getValue());
+
+            if (value != null) {
+                builder.add(value);
+            }
+        }
+
+        return builder.build().trimmed();
+    }
+
+    @Override
+    public ImmutableLongArray getLongArray(final String path, final ImmutableLongArray def) {
+        final ConfigurationNode node = this.resolvePath(path);
+
+        if (node == null || !node.isList()) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final List<? extends ConfigurationNode> children = node.getChildrenList();
+        final ImmutableLongArray.Builder builder = ImmutableLongArray.builder(children.size());
+
+        for (final ConfigurationNode child : children) {
+            final Long value = Types.asLong(child.getValue());
+
+            if (value != null) {
+                builder.add(value);
+            }
+        }
+
+        return builder.build().trimmed();
+    }
+
+    @Override
+    public ImmutableDoubleArray getDoubleArray(final String path, final ImmutableDoubleArray def) {
+        final ConfigurationNode node = this.resolvePath(path);
+
+        if (node == null || !node.isList()) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final List<? extends ConfigurationNode> children = node.getChildrenList();
+        final ImmutableDoubleArray.Builder builder = ImmutableDoubleArray.builder(children.size());
+
+        for (final ConfigurationNode child : children) {
+            final Double value = Types.asDouble(child.getValue());
+
+            if (value != null) {
+                builder.add(value);
+            }
+        }
+
+        return builder.build().trimmed();
+    }
+
+    @Override
+    public StringIntMap getStringIntMap(final String path, final StringIntMap def) {
+        final ConfigurationNode node = this.resolvePath(path);
+
+        if (node == null || !node.isMap()) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final List<Map.Entry<Object, ? extends ConfigurationNode>> children = sortedChildren(node);
+        final ImmutableList.Builder<String> keys = ImmutableList.builderWithExpectedSize(
+                children.size());
+        final ImmutableIntArray.Builder values = ImmutableIntArray.builder(children.size());
+
+        for (final Map.Entry<Object, ? extends ConfigurationNode> child : children) {
+            final Integer value = Types.asInt(child.getValue().getValue());
+
+            if (value != null) {
+                keys.add(child.getKey().toString());
+                values.add(value);
+            }
+        }
+
+        return StringIntMap.copyOfSorted(keys.build(), values.build());
+    }
+
+    @Override
+    public StringLongMap getStringLongMap(final String path, final StringLongMap def) {
+        final ConfigurationNode node = this.resolvePath(path);
+
+        if (node == null || !node.isMap()) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final List<Map.Entry<Object, ? extends ConfigurationNode>> children = sortedChildren(node);
+        final ImmutableList.Builder<String> keys = ImmutableList.builderWithExpectedSize(
+                children.size());
+        final ImmutableLongArray.Builder values = ImmutableLongArray.builder(children.size());
+
+        for (final Map.Entry<Object, ? extends ConfigurationNode> child : children) {
+            final Long value = Types.asLong(child.getValue().getValue());
+
+            if (value != null) {
+                keys.add(child.getKey().toString());
+                values.add(value);
+            }
+        }
+
+        return StringLongMap.copyOfSorted(keys.build(), values.build());
+    }
+
+    @Override
+    public StringDoubleMap getStringDoubleMap(final String path, final StringDoubleMap def) {
+        final ConfigurationNode node = this.resolvePath(path);
+
+        if (node == null || !node.isMap()) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final List<Map.Entry<Object, ? extends ConfigurationNode>> children = sortedChildren(node);
+        final ImmutableList.Builder<String> keys = ImmutableList.builderWithExpectedSize(
+                children.size());
+        final ImmutableDoubleArray.Builder values = ImmutableDoubleArray.builder(children.size());
+
+        for (final Map.Entry<Object, ? extends ConfigurationNode> child : children) {
+            final Double value = Types.asDouble(child.getValue().getValue());
+
+            if (value != null) {
+                keys.add(child.getKey().toString());
+                values.add(value);
+            }
+        }
+
+        return StringDoubleMap.copyOfSorted(keys.build(), values.build());
+    }
+
     @Override
     public Map<String, String> getStringMap(final String path, final Map<String, String> def) {
+        return this.getMap(path, Types::asString, def);
+    }
+
+    @Override
+    public <V> Map<String, V> getMap(final String path, final Function<Object, V> decoder,
+            final Map<String, V> def) {
         final ConfigurationNode node = this.resolvePath(path);
 
-        if (node.isVirtual() || !node.isMap()) {
+        if (node == null || !node.isMap()) {
             this.logKeyNotFound(path, def);
             return def;
         }
 
-        final Map<String, Object> map = (Map<String, Object>) node.getValue(Collections.emptyMap());
-        return map.entrySet()
-                .stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, v -> v.getValue().toString()));
+        final Map<Object, ? extends ConfigurationNode> children = node.getChildrenMap();
+        final ImmutableMap.Builder<String, V> builder = ImmutableMap.builderWithExpectedSize(
+                children.size());
+
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : children.entrySet()) {
+            final V value = decoder.apply(entry.getValue().getValue());
+
+            if (value != null) {
+                builder.put(entry.getKey().toString(), value);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Parses the config file, unless its content has not changed since it was last parsed.
+     * <p>
+     * Called while holding the lock of this adapter.
+     *
+     * @return the root node, or null if the content has not changed
+     * @throws IOException if the file could not be read
+     */
+    protected ConfigurationNode parse() throws IOException {
+        final FileFingerprint fingerprint = FileFingerprint.of(this.path, this.fingerprint);
+
+        if (fingerprint != null && fingerprint.sameContent(this.fingerprint)) {
+            this.fingerprint = fingerprint;
+            return null;
+        }
+
+        final ConfigurationNode root = this.load(this.path);
+
+        this.fingerprint = fingerprint;
+        return root;
+    }
+
+    /**
+     * Checks if the content of the config file has changed since it was last parsed.
+     * <p>
+     * Called while holding the lock of this adapter.
+     *
+     * @return if the content has changed
+     * @throws IOException if the file could not be read
+     */
+    protected boolean sourceChanged() throws IOException {
+        final FileFingerprint fingerprint = FileFingerprint.of(this.path, this.fingerprint);
+
+        return fingerprint == null
+                ? this.fingerprint != null
+                : !fingerprint.sameContent(this.fingerprint);
+    }
+
+    /**
+     * Forgets what has been parsed, so the next reload parses the config again.
+     * <p>
+     * Called while holding the lock of this adapter.
+     */
+    protected void invalidate() {
+        this.fingerprint = null;
+    }
+
+    /**
+     * Loads the given file using the loader of this adapter and records the parse time.
+     *
+     * @param file the file
+     * @return the root node of the file
+     * @throws IOException if the file could not be read
+     */
+    protected final ConfigurationNode load(final Path file) throws IOException {
+        final long start = System.nanoTime();
+        final ConfigurationNode root = this.createLoader(file).load();
+
+        this.metrics.recordParse(System.nanoTime() - start);
+        return root;
+    }
+
+    private boolean hasChanged() {
+        this.lock.lock();
+
+        try {
+            if (this.index == null) {
+                return true;
+            }
+
+            try {
+                return this.sourceChanged();
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private Map<String, Object> leafValues() {
+        this.lock.lock();
+
+        try {
+            this.reload();
+
+            final ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
+
+            for (final Map.Entry<String, ConfigurationNode> entry : this.index.entrySet()) {
+                final Object value = entry.getValue().getValue();
+
+                if (!entry.getValue().isMap() && value != null) {
+                    builder.put(entry.getKey(), value);
+                }
+            }
+
+            return builder.build();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the subtrees at the retained paths into a new, detached tree.
+     *
+     * @param root the root of the loaded document
+     * @return the root of the new tree
+     */
+    private ConfigurationNode retain(final ConfigurationNode root) {
+        final ConfigurationNode retained = SimpleConfigurationNode.root(root.getOptions());
+
+        for (final String path : this.retainedPaths) {
+            final Object[] parts = Splitter.on('.').splitToList(path).toArray();
+            final ConfigurationNode node = root.getNode(parts);
+
+            if (!node.isVirtual()) {
+                retained.getNode(parts).setValue(node.getValue());
+            }
+        }
+
+        return retained;
     }
 
+    /**
+     * Adds all map children of the given node to the index, keyed by their dotted path.
+     *
+     * @param index  the index
+     * @param prefix the path of the given node, null for the root node
+     * @param node   the node
+     */
+    private static void indexChildren(final Map<String, ConfigurationNode> index,
+            final String prefix, final ConfigurationNode node) {
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.getChildrenMap()
+                .entrySet()) {
+            final String key = entry.getKey().toString();
+
+            // keys containing the separator cannot be addressed by a dotted path
+            if (key.indexOf('.') >= 0) {
+                continue;
+            }
+
+            final String path = prefix == null ? key : prefix + '.' + key;
+
+            index.put(path, entry.getValue());
+            indexChildren(index, path, entry.getValue());
+        }
+    }
+
+    /**
+     * Gets the children of the given map node, sorted by their keys.
+     *
+     * @param node the map node
+     * @return the sorted children
+     */
+    private static List<Map.Entry<Object, ? extends ConfigurationNode>> sortedChildren(
+            final ConfigurationNode node) {
+        final List<Map.Entry<Object, ? extends ConfigurationNode>> children = new ArrayList<>(
+                node.getChildrenMap().entrySet());
+
+        children.sort(Comparator.comparing(child -> child.getKey().toString()));
+        return children;
+    }
+
+    /**
+     * Looks up the node at the given path.
+     *
+     * @param path the dotted path
+     * @return the node, or null if there is no node at the given path
+     */
     private ConfigurationNode resolvePath(final String path) {
-        if (this.root == null) {
-            throw new UnsupportedOperationException("Config is not loaded.");
+        Map<String, ConfigurationNode> index = this.index;
+
+        if (index == null) {
+            this.reload();
+            index = this.index;
         }
 
-        return this.root.getNode(Splitter.on('.').splitToList(path).toArray());
+        return index.get(path);
     }
 
     private void logKeyNotFound(final String path, final Object def) {
+        this.metrics.recordMissingKey(path);
         this.logger.warn("Could not find key '{}' in the config. The value of '{}' will be "
                 + "used instead.", path, def);
     }
+
+    /**
+     * Read-only adapter over the index of one reload, see {@link #snapshot()}.
+     */
+    private static final class Snapshot extends ConfigurateConfigAdapter {
+
+        private Snapshot(final ConfigurateConfigAdapter source,
+                final Map<String, ConfigurationNode> index) {
+            super(source, index);
+        }
+
+        @Override
+        protected ConfigurationLoader<? extends ConfigurationNode> createLoader(final Path path) {
+            throw new UnsupportedOperationException("A snapshot cannot be loaded.");
+        }
+
+        /**
+         * Does nothing, a snapshot keeps the values it has been created with.
+         */
+        @Override
+        public void reload() {
+        }
+
+        @Override
+        public ConfigurationAdapter snapshot() {
+            return this;
+        }
+    }
 }
@@ -24,16 +24,57 @@
 
 package de.alphaconqueror.common.utils.config.adapter;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import de.alphaconqueror.common.utils.config.metrics.ConfigMetrics;
 import de.alphaconqueror.common.utils.logging.Logger;
+import de.alphaconqueror.common.utils.util.StringDoubleMap;
+import de.alphaconqueror.common.utils.util.StringIntMap;
+import de.alphaconqueror.common.utils.util.StringLongMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 public interface ConfigurationAdapter {
 
     Logger getLogger();
 
+    default ConfigMetrics getMetrics() {
+        return ConfigMetrics.NONE;
+    }
+
     void reload();
 
+    /**
+     * Gets if the values of this adapter are determined by its source file alone, which is
+     * required to restore them from a snapshot keyed by that file. Adapters that also read e.g.
+     * environment variables return false.
+     *
+     * @return if the values only depend on the source file
+     */
+    default boolean isDeterminedBySource() {
+        return true;
+    }
+
+    /**
+     * Gets a read-only adapter over the values loaded by the last reload, which is not affected
+     * by later reloads. Lazy keys are resolved against it, so they keep the value of the
+     * generation they were loaded with.
+     * <p>
+     * Adapters that cannot capture their state return themselves. Lazy keys read from such an
+     * adapter are resolved right before it is reloaded.
+     *
+     * @return the captured adapter, or this adapter
+     */
+    default ConfigurationAdapter snapshot() {
+        return this;
+    }
+
     String getString(String path, String def);
 
     int getInteger(String path, int def);
@@ -53,4 +94,77 @@ public interface ConfigurationAdapter {
     List<Double> getDoubleList(String path, List<Double> def);
 
     Map<String, String> getStringMap(String path, Map<String, String> def);
+
+    /**
+     * Gets the section at the given path as a map, decoding every value with the given decoder.
+     * Values the decoder maps to null are left out.
+     * <p>
+     * The default implementation passes the values of {@link #getStringMap(String, Map)} to the
+     * decoder, so it only sees strings and decoders of lists or sections find no values.
+     * Adapters with access to the raw values override it.
+     *
+     * @param path    the path of the section
+     * @param decoder the decoder for the values, which are strings unless overridden
+     * @param def     the default value
+     * @param <V>     the value type
+     * @return the decoded map
+     */
+    default <V> Map<String, V> getMap(final String path, final Function<Object, V> decoder,
+            final Map<String, V> def) {
+        final Map<String, String> map = this.getStringMap(path, null);
+
+        if (map == null) {
+            return def;
+        }
+
+        final ImmutableMap.Builder<String, V> builder = ImmutableMap.builderWithExpectedSize(
+                map.size());
+
+        for (final Map.Entry<String, String> entry : map.entrySet()) {
+            final V value = decoder.apply(entry.getValue());
+
+            if (value != null) {
+                builder.put(entry.getKey(), value);
+            }
+        }
+
+        return builder.build();
+    }
+
+    default ImmutableIntArray getIntArray(final String path, final ImmutableIntArray def) {
+        return ImmutableIntArray.copyOf(this.getIntList(path, def.asList()));
+    }
+
+    default ImmutableLongArray getLongArray(final String path, final ImmutableLongArray def) {
+        return ImmutableLongArray.copyOf(this.getLongList(path, def.asList()));
+    }
+
+    default ImmutableDoubleArray getDoubleArray(final String path,
+            final ImmutableDoubleArray def) {
+        return ImmutableDoubleArray.copyOf(this.getDoubleList(path, def.asList()));
+    }
+
+    default StringIntMap getStringIntMap(final String path, final StringIntMap def) {
+        final Map<String, Integer> map = this.getMap(path,
+                value -> Ints.tryParse(value.toString().trim()), null);
+        return map == null
+                ? def
+                : StringIntMap.copyOf(map);
+    }
+
+    default StringLongMap getStringLongMap(final String path, final StringLongMap def) {
+        final Map<String, Long> map = this.getMap(path,
+                value -> Longs.tryParse(value.toString().trim()), null);
+        return map == null
+                ? def
+                : StringLongMap.copyOf(map);
+    }
+
+    default StringDoubleMap getStringDoubleMap(final String path, final StringDoubleMap def) {
+        final Map<String, Double> map = this.getMap(path,
+                value -> Doubles.tryParse(value.toString().trim()), null);
+        return map == null
+                ? def
+                : StringDoubleMap.copyOf(map);
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import java.util.Map;
+
+/**
+ * A source of config values that can be stacked in a {@link LayeredConfigAdapter}.
+ */
+public interface ConfigurationLayer {
+
+    /**
+     * Creates a layer of fixed values, e.g. defaults.
+     *
+     * @param values the values keyed by dotted path
+     * @return the layer
+     */
+    static ConfigurationLayer of(final Map<String, ?> values) {
+        return new ConfigurationLayers.FixedLayer(values);
+    }
+
+    /**
+     * Creates a layer of all environment variables starting with the given prefix. The prefix is
+     * removed and the rest of the name is lowercased, with {@code __} mapped to {@code -} and
+     * {@code _} mapped to {@code .}, so {@code APP_DB_MAX__POOL} becomes {@code db.max-pool}.
+     *
+     * @param prefix the prefix, e.g. {@code APP_}
+     * @return the layer
+     */
+    static ConfigurationLayer environment(final String prefix) {
+        return new ConfigurationLayers.EnvironmentLayer(prefix);
+    }
+
+    /**
+     * Creates a layer of all system properties starting with the given prefix. The prefix is
+     * removed, the rest is used as path.
+     *
+     * @param prefix the prefix, e.g. {@code app.}
+     * @return the layer
+     */
+    static ConfigurationLayer systemProperties(final String prefix) {
+        return new ConfigurationLayers.SystemPropertiesLayer(prefix);
+    }
+
+    /**
+     * Gets if the source has changed since it has been loaded the last time.
+     *
+     * @return if the source has changed
+     */
+    boolean hasChanged();
+
+    /**
+     * Loads all leaf values of the source, keyed by dotted path. Values are either scalars or
+     * lists of scalars.
+     *
+     * @return the values
+     */
+    Map<String, Object> load();
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The built-in {@link ConfigurationLayer} implementations.
+ */
+final class ConfigurationLayers {
+
+    private ConfigurationLayers() {}
+
+    static final class FixedLayer implements ConfigurationLayer {
+
+        private final Map<String, Object> values;
+
+        FixedLayer(final Map<String, ?> values) {
+            this.values = ImmutableMap.copyOf(values);
+        }
+
+        @Override
+        public boolean hasChanged() {
+            return false;
+        }
+
+        @Override
+        public Map<String, Object> load() {
+            return this.values;
+        }
+    }
+
+    static final class EnvironmentLayer implements ConfigurationLayer {
+
+        private final String prefix;
+
+        EnvironmentLayer(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean hasChanged() {
+            // the environment of a process does not change
+            return false;
+        }
+
+        @Override
+        public Map<String, Object> load() {
+            final ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
+
+            for (final Map.Entry<String, String> entry : System.getenv().entrySet()) {
+                if (entry.getKey().startsWith(this.prefix)) {
+                    builder.put(entry.getKey()
+                            .substring(this.prefix.length())
+                            .toLowerCase(Locale.ROOT)
+                            .replace("__", "-")
+                            .replace('_', '.'), entry.getValue());
+                }
+            }
+
+            // variables only differing in case map to the same path
+            return builder.buildKeepingLast();
+        }
+    }
+
+    static final class SystemPropertiesLayer implements ConfigurationLayer {
+
+        private final String prefix;
+        private Map<String, Object> values;
+
+        SystemPropertiesLayer(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public synchronized boolean hasChanged() {
+            return !this.read().equals(this.values);
+        }
+
+        @Override
+        public synchronized Map<String, Object> load() {
+            this.values = this.read();
+            return this.values;
+        }
+
+        private Map<String, Object> read() {
+            final ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
+
+            for (final String name : System.getProperties().stringPropertyNames()) {
+                final String value = System.getProperty(name);
+
+                if (name.startsWith(this.prefix) && value != null) {
+                    builder.put(name.substring(this.prefix.length()), value);
+                }
+            }
+
+            return builder.build();
+        }
+    }
+}
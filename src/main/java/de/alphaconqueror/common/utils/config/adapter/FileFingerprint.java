@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Identifies the content of a file by its modification time, size and content hash.
+ */
+final class FileFingerprint {
+
+    /**
+     * The coarsest modification time granularity of common file systems, e.g. 2 seconds on FAT.
+     * A file modified within this window before it was hashed may be modified again without
+     * changing its modification time.
+     */
+    private static final long TIMESTAMP_GRANULARITY_MILLIS = 2000;
+
+    private final long lastModified;
+    private final long size;
+    private final long hashedAt;
+    private final HashCode hash;
+
+    private FileFingerprint(final long lastModified, final long size, final long hashedAt,
+            final HashCode hash) {
+        this.lastModified = lastModified;
+        this.size = size;
+        this.hashedAt = hashedAt;
+        this.hash = hash;
+    }
+
+    /**
+     * Takes the fingerprint of the given file. The content is only hashed if the modification
+     * time or size differs from the previous fingerprint, or if the previous fingerprint was
+     * taken so shortly after a modification that a later one may have kept the modification
+     * time.
+     *
+     * @param path     the file
+     * @param previous the previous fingerprint of the file, may be null
+     * @return the fingerprint, or null if the file does not exist
+     * @throws IOException if the file could not be read
+     */
+    static FileFingerprint of(final Path path, final FileFingerprint previous)
+            throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        final long lastModified = Files.getLastModifiedTime(path).toMillis();
+        final long size = Files.size(path);
+
+        if (previous != null && previous.lastModified == lastModified && previous.size == size
+                && previous.hashedAt - lastModified > TIMESTAMP_GRANULARITY_MILLIS) {
+            return previous;
+        }
+
+        final long hashedAt = System.currentTimeMillis();
+
+        return new FileFingerprint(lastModified, size, hashedAt,
+                MoreFiles.asByteSource(path).hash(Hashing.murmur3_128()));
+    }
+
+    /**
+     * Gets if the given fingerprint describes the same content as this one.
+     *
+     * @param other the other fingerprint, may be null
+     * @return if the content is the same
+     */
+    boolean sameContent(final FileFingerprint other) {
+        return other != null && this.hash.equals(other.hash);
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import com.google.common.collect.Lists;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+
+/**
+ * {@link ConfigurateConfigAdapter} over a directory of config fragments, like a
+ * {@code conf.d} directory.
+ * <p>
+ * The fragments are merged in the order of their file names, so a value of a later fragment
+ * overrides the same value of an earlier one. On reload, the fragments are parsed in parallel
+ * and only fragments whose content has changed since the last reload are parsed again, so
+ * {@link #createLoader(Path)} has to be safe to call concurrently.
+ */
+public abstract class FragmentDirectoryConfigAdapter extends ConfigurateConfigAdapter {
+
+    private final Path directory;
+    private final String glob;
+    private final Map<Path, Fragment> fragments = new HashMap<>();
+    private volatile Executor parseExecutor = ForkJoinPool.commonPool();
+
+    public FragmentDirectoryConfigAdapter(final Logger logger, final Path directory,
+            final String glob) {
+        this(logger, directory, glob, false);
+    }
+
+    /**
+     * Creates a new adapter.
+     *
+     * @param logger    the logger
+     * @param directory the directory containing the fragments
+     * @param glob      the glob the file names of the fragments have to match, e.g.
+     *                  {@code *.conf}
+     * @param lazy      if true, the fragments are not loaded before a value is requested for the
+     *                  first time
+     */
+    public FragmentDirectoryConfigAdapter(final Logger logger, final Path directory,
+            final String glob, final boolean lazy) {
+        super(logger, directory, true);
+        this.directory = directory;
+        this.glob = glob;
+
+        if (!lazy) {
+            this.reload();
+        }
+    }
+
+    /**
+     * Sets the executor the fragments are parsed on. Defaults to
+     * {@link ForkJoinPool#commonPool()}.
+     *
+     * @param parseExecutor the executor
+     */
+    public void setParseExecutor(final Executor parseExecutor) {
+        this.parseExecutor = parseExecutor;
+    }
+
+    /**
+     * Gets if the values are determined by a single source file, which is never the case for
+     * a directory of fragments.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isDeterminedBySource() {
+        return false;
+    }
+
+    @Override
+    public ConfigFileWatcher watch(final Runnable action, final long debounceMillis)
+            throws IOException {
+        return ConfigFileWatcher.watchDirectory(this.getLogger(), this.directory, debounceMillis,
+                action);
+    }
+
+    @Override
+    protected ConfigurationNode parse() throws IOException {
+        final List<Path> files = this.listFragments();
+        final List<CompletableFuture<Fragment>> futures = new ArrayList<>(files.size());
+
+        for (final Path file : files) {
+            final Fragment previous = this.fragments.get(file);
+
+            futures.add(CompletableFuture.supplyAsync(() -> this.refresh(file, previous),
+                    this.parseExecutor));
+        }
+
+        final List<Fragment> refreshed = new ArrayList<>(files.size());
+        boolean changed = false;
+
+        for (final CompletableFuture<Fragment> future : futures) {
+            final Fragment fragment;
+
+            try {
+                fragment = future.join();
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+
+                throw e;
+            }
+
+            if (fragment != null) {
+                final Fragment previous = this.fragments.get(fragment.file);
+
+                refreshed.add(fragment);
+                changed |= previous == null || previous.root != fragment.root;
+            }
+        }
+
+        changed |= refreshed.size() != this.fragments.size();
+        this.fragments.clear();
+
+        for (final Fragment fragment : refreshed) {
+            this.fragments.put(fragment.file, fragment);
+        }
+
+        if (!changed) {
+            return null;
+        }
+
+        final ConfigurationNode root = SimpleConfigurationNode.root();
+
+        // merging only fills in missing values, so the fragment that wins has to come first
+        for (final Fragment fragment : Lists.reverse(refreshed)) {
+            root.mergeValuesFrom(fragment.root);
+        }
+
+        return root;
+    }
+
+    @Override
+    protected boolean sourceChanged() throws IOException {
+        final List<Path> files = this.listFragments();
+
+        if (files.size() != this.fragments.size()) {
+            return true;
+        }
+
+        for (final Path file : files) {
+            final Fragment fragment = this.fragments.get(file);
+
+            if (fragment == null || !fragment.fingerprint.sameContent(
+                    FileFingerprint.of(file, fragment.fingerprint))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    protected void invalidate() {
+        this.fragments.clear();
+    }
+
+    /**
+     * Lists the fragments in the order they are merged in.
+     *
+     * @return the fragment files
+     * @throws IOException if the directory could not be listed
+     */
+    private List<Path> listFragments() throws IOException {
+        final List<Path> files = new ArrayList<>();
+
+        if (!Files.isDirectory(this.directory)) {
+            return files;
+        }
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory,
+                this.glob)) {
+            for (final Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+
+        files.sort(Comparator.comparing(file -> file.getFileName().toString()));
+        return files;
+    }
+
+    /**
+     * Parses the given fragment again if its content has changed.
+     *
+     * @param file     the fragment file
+     * @param previous the previously parsed fragment, may be null
+     * @return the fragment, or null if the file does not exist anymore
+     */
+    private Fragment refresh(final Path file, final Fragment previous) {
+        try {
+            final FileFingerprint fingerprint = FileFingerprint.of(file, previous == null
+                    ? null
+                    : previous.fingerprint);
+
+            if (fingerprint == null) {
+                return null;
+            }
+
+            if (previous != null && fingerprint.sameContent(previous.fingerprint)) {
+                return new Fragment(file, fingerprint, previous.root);
+            }
+
+            return new Fragment(file, fingerprint, this.load(file));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Fragment {
+
+        private final Path file;
+        private final FileFingerprint fingerprint;
+        private final ConfigurationNode root;
+
+        private Fragment(final Path file, final FileFingerprint fingerprint,
+                final ConfigurationNode root) {
+            this.file = file;
+            this.fingerprint = fingerprint;
+            this.root = root;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import ninja.leaping.configurate.ConfigurationNode;
+
+/**
+ * Expands {@code ${name}} references in the string values of a loaded config tree.
+ * <p>
+ * A reference is resolved to the value at the dotted config path {@code name} or, if there is
+ * none, to the variable {@code name}. Every value is expanded at most once, and references that
+ * cannot be resolved are left as they are. Values on a cycle of references keep their templates,
+ * and references to them are left as they are.
+ */
+final class Interpolator {
+
+    private final Logger logger;
+    private final Function<String, String> variables;
+    private final Map<String, ConfigurationNode> nodes = new HashMap<>();
+    private final Map<String, String> expanded = new HashMap<>();
+    private final List<String> expanding = new ArrayList<>();
+    private final Set<String> cyclic = new HashSet<>();
+
+    private Interpolator(final Logger logger, final Function<String, String> variables) {
+        this.logger = logger;
+        this.variables = variables;
+    }
+
+    /**
+     * Expands all references in the given tree in place.
+     *
+     * @param logger    the logger to report unresolvable references to
+     * @param variables the lookup for names that are not a config path, e.g.
+     *                  {@link System#getenv(String)}
+     * @param root      the root of the tree
+     */
+    static void interpolate(final Logger logger, final Function<String, String> variables,
+            final ConfigurationNode root) {
+        final Interpolator interpolator = new Interpolator(logger, variables);
+
+        interpolator.collect(null, root);
+
+        for (final Map.Entry<String, ConfigurationNode> entry : interpolator.nodes.entrySet()) {
+            if (isTemplate(entry.getValue().getValue())) {
+                final String value = interpolator.expand(entry.getKey(), entry.getValue());
+
+                if (value != null) {
+                    entry.getValue().setValue(value);
+                }
+            }
+        }
+    }
+
+    private static boolean isTemplate(final Object value) {
+        return value instanceof String && ((String) value).contains("${");
+    }
+
+    /**
+     * Collects all nodes of the given subtree, keyed by their dotted path.
+     *
+     * @param prefix the path of the given node, null for the root node
+     * @param node   the node
+     */
+    private void collect(final String prefix, final ConfigurationNode node) {
+        if (node.isList()) {
+            final List<? extends ConfigurationNode> children = node.getChildrenList();
+
+            for (int i = 0; i < children.size(); i++) {
+                this.add(prefix, Integer.toString(i), children.get(i));
+            }
+
+            return;
+        }
+
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.getChildrenMap()
+                .entrySet()) {
+            final String key = entry.getKey().toString();
+
+            // keys containing the separator cannot be referenced by a dotted path
+            if (key.indexOf('.') < 0) {
+                this.add(prefix, key, entry.getValue());
+            }
+        }
+    }
+
+    private void add(final String prefix, final String key, final ConfigurationNode node) {
+        final String path = prefix == null ? key : prefix + '.' + key;
+
+        this.nodes.put(path, node);
+        this.collect(path, node);
+    }
+
+    /**
+     * Expands the value of the node at the given path.
+     *
+     * @param path the path
+     * @param node the node, whose value is a template
+     * @return the expanded value, or null if the value is on a cycle
+     */
+    private String expand(final String path, final ConfigurationNode node) {
+        if (this.cyclic.contains(path)) {
+            return null;
+        }
+
+        final String cached = this.expanded.get(path);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final int index = this.expanding.indexOf(path);
+
+        if (index >= 0) {
+            // abort all values on the cycle, which are still being expanded further up
+            final List<String> cycle = this.expanding.subList(index, this.expanding.size());
+
+            this.logger.warn("The config values at {} reference each other.", cycle);
+            this.cyclic.addAll(cycle);
+            return null;
+        }
+
+        final String template = (String) node.getValue();
+
+        this.expanding.add(path);
+
+        final StringBuilder builder = new StringBuilder(template.length());
+        int position = 0;
+        int start;
+
+        while ((start = template.indexOf("${", position)) >= 0) {
+            final int end = template.indexOf('}', start + 2);
+
+            if (end < 0) {
+                break;
+            }
+
+            final String value = this.lookup(template.substring(start + 2, end));
+
+            builder.append(template, position, start)
+                    .append(value == null ? template.substring(start, end + 1) : value);
+            position = end + 1;
+        }
+
+        this.expanding.remove(this.expanding.size() - 1);
+
+        if (this.cyclic.contains(path)) {
+            return null;
+        }
+
+        final String value = builder.append(template, position, template.length()).toString();
+
+        this.expanded.put(path, value);
+        return value;
+    }
+
+    private String lookup(final String name) {
+        final ConfigurationNode node = this.nodes.get(name);
+
+        if (node != null && !node.isMap() && !node.isList() && node.getValue() != null) {
+            // a value on a cycle is null, so the reference is left as it is
+            return isTemplate(node.getValue())
+                    ? this.expand(name, node)
+                    : node.getValue().toString();
+        }
+
+        final String variable = this.variables.apply(name);
+
+        if (variable == null) {
+            this.logger.warn("Could not resolve '${{}}' in the config.", name);
+        }
+
+        return variable;
+    }
+}
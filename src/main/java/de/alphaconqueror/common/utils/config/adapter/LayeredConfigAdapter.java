@@ -0,0 +1,331 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import de.alphaconqueror.common.utils.config.metrics.ConfigMetrics;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import ninja.leaping.configurate.Types;
+
+/**
+ * {@link ConfigurationAdapter} that stacks several {@link ConfigurationLayer}s, e.g. defaults,
+ * a config file, environment variables and system properties. Later layers override values of
+ * earlier ones.
+ * <p>
+ * All layers are merged into one flat index on reload, so every lookup is a single hash probe
+ * regardless of the number of layers. Only layers whose source has changed are loaded again.
+ */
+public class LayeredConfigAdapter implements ConfigurationAdapter {
+
+    private final Logger logger;
+    private final List<ConfigurationLayer> layers;
+    private final Map<String, Object>[] layerValues;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Index index;
+    private volatile ConfigMetrics metrics = ConfigMetrics.NONE;
+
+    /**
+     * Creates a new adapter and loads all layers.
+     *
+     * @param logger the logger
+     * @param layers the layers, from lowest to highest priority
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LayeredConfigAdapter(final Logger logger, final List<ConfigurationLayer> layers) {
+        this.logger = logger;
+        this.layers = ImmutableList.copyOf(layers);
+        this.layerValues = new Map[layers.size()];
+        this.reload();
+    }
+
+    /**
+     * Creates a read-only copy of the given adapter over the given index. Without layers, there
+     * is nothing to reload.
+     *
+     * @param source the adapter
+     * @param index  the index merged by the adapter
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private LayeredConfigAdapter(final LayeredConfigAdapter source, final Index index) {
+        this.logger = source.logger;
+        this.layers = ImmutableList.of();
+        this.layerValues = new Map[0];
+        this.index = index;
+        this.metrics = source.metrics;
+    }
+
+    @Override
+    public Logger getLogger() {
+        return this.logger;
+    }
+
+    @Override
+    public ConfigMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    public void setMetrics(final ConfigMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets if the values are determined by a single source file, which is never the case for
+     * layered values.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isDeterminedBySource() {
+        return false;
+    }
+
+    /**
+     * Gets a read-only adapter over the values merged by the last reload. Every reload merges
+     * into a new index, so capturing the index is enough.
+     *
+     * @return the captured adapter
+     */
+    @Override
+    public ConfigurationAdapter snapshot() {
+        return new LayeredConfigAdapter(this, this.index);
+    }
+
+    @Override
+    public void reload() {
+        this.lock.lock();
+
+        try {
+            boolean changed = this.index == null;
+            final long start = System.nanoTime();
+
+            for (int i = 0; i < this.layers.size(); i++) {
+                if (this.layerValues[i] == null || this.layers.get(i).hasChanged()) {
+                    this.layerValues[i] = this.layers.get(i).load();
+                    changed = true;
+                }
+            }
+
+            if (!changed) {
+                return;
+            }
+
+            this.metrics.recordParse(System.nanoTime() - start);
+
+            final Map<String, Object> values = new HashMap<>();
+            final Map<String, Set<String>> sections = new HashMap<>();
+
+            for (final Map<String, Object> layer : this.layerValues) {
+                for (final Map.Entry<String, Object> entry : layer.entrySet()) {
+                    values.put(entry.getKey(), entry.getValue());
+                    addSections(sections, entry.getKey());
+                }
+            }
+
+            this.index = new Index(values, sections);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public String getString(final String path, final String def) {
+        return this.get(path, def, Types::asString);
+    }
+
+    @Override
+    public int getInteger(final String path, final int def) {
+        return this.get(path, def, Types::asInt);
+    }
+
+    @Override
+    public long getLong(final String path, final long def) {
+        return this.get(path, def, Types::asLong);
+    }
+
+    @Override
+    public double getDouble(final String path, final double def) {
+        return this.get(path, def, Types::asDouble);
+    }
+
+    @Override
+    public boolean getBoolean(final String path, final boolean def) {
+        return this.get(path, def, Types::asBoolean);
+    }
+
+    @Override
+    public List<String> getStringList(final String path, final List<String> def) {
+        return this.getList(path, def, Types::asString);
+    }
+
+    @Override
+    public List<Integer> getIntList(final String path, final List<Integer> def) {
+        return this.getList(path, def, Types::asInt);
+    }
+
+    @Override
+    public List<Long> getLongList(final String path, final List<Long> def) {
+        return this.getList(path, def, Types::asLong);
+    }
+
+    @Override
+    public List<Double> getDoubleList(final String path, final List<Double> def) {
+        return this.getList(path, def, Types::asDouble);
+    }
+
+    @Override
+    public Map<String, String> getStringMap(final String path, final Map<String, String> def) {
+        return this.getMap(path, value -> value instanceof List
+                ? null
+                : value.toString(), def);
+    }
+
+    @Override
+    public <V> Map<String, V> getMap(final String path, final Function<Object, V> decoder,
+            final Map<String, V> def) {
+        final Index index = this.index;
+        final Set<String> children = index.sections.get(path);
+
+        if (children == null) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final ImmutableMap.Builder<String, V> builder = ImmutableMap.builderWithExpectedSize(
+                children.size());
+
+        for (final String child : children) {
+            final Object raw = index.values.get(path + '.' + child);
+            final V value = raw == null
+                    ? null
+                    : decoder.apply(raw);
+
+            if (value != null) {
+                builder.put(child, value);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private <T> T get(final String path, final T def, final Function<Object, T> converter) {
+        final Object value = this.index.values.get(path);
+
+        if (value == null || value instanceof List) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        final T converted = converter.apply(value);
+
+        return converted == null ? def : converted;
+    }
+
+    private <T> List<T> getList(final String path, final List<T> def,
+            final Function<Object, T> converter) {
+        final Object value = this.index.values.get(path);
+
+        if (value == null) {
+            this.logKeyNotFound(path, def);
+            return def;
+        }
+
+        // scalars, e.g. from environment variables, are read as comma separated lists
+        final List<?> list = value instanceof List
+                ? (List<?>) value
+                : value.toString().isEmpty()
+                        ? Collections.emptyList()
+                        : ImmutableList.copyOf(value.toString().split(","));
+        final ImmutableList.Builder<T> builder = ImmutableList.builderWithExpectedSize(
+                list.size());
+
+        for (final Object element : list) {
+            final T converted = element == null
+                    ? null
+                    : converter.apply(element instanceof String
+                            ? ((String) element).trim()
+                            : element);
+
+            if (converted != null) {
+                builder.add(converted);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Registers the given path as child of all its parent sections.
+     *
+     * @param sections the sections
+     * @param path     the dotted path
+     */
+    private static void addSections(final Map<String, Set<String>> sections, final String path) {
+        String current = path;
+        int end = current.lastIndexOf('.');
+
+        while (end > 0) {
+            final String section = current.substring(0, end);
+            // the parents of a known section have already been registered
+            final boolean known = sections.containsKey(section);
+
+            sections.computeIfAbsent(section, s -> new LinkedHashSet<>())
+                    .add(current.substring(end + 1));
+
+            if (known) {
+                break;
+            }
+
+            current = section;
+            end = current.lastIndexOf('.');
+        }
+    }
+
+    private void logKeyNotFound(final String path, final Object def) {
+        this.metrics.recordMissingKey(path);
+        this.logger.warn("Could not find key '{}' in the config. The value of '{}' will be "
+                + "used instead.", path, def);
+    }
+
+    private static final class Index {
+
+        private final Map<String, Object> values;
+        private final Map<String, Set<String>> sections;
+
+        private Index(final Map<String, Object> values,
+                final Map<String, Set<String>> sections) {
+            this.values = values;
+            this.sections = sections;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.key;
+
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationAdapter;
+
+/**
+ * {@link ConfigKey} for boolean values, which are resolved without boxing.
+ */
+public class BooleanConfigKey extends SimpleConfigKey<Boolean> {
+
+    private final boolean primitiveDef;
+
+    BooleanConfigKey(final String path, final boolean def) {
+        super(ConfigKeyFactory.BOOLEAN, path, def);
+        this.primitiveDef = def;
+    }
+
+    @Override
+    public Boolean get(final ConfigurationAdapter adapter) {
+        return this.getBoolean(adapter);
+    }
+
+    /**
+     * Resolves and returns the value mapped to this key using the given config instance.
+     *
+     * @param adapter the config adapter instance
+     * @return the value mapped to this key
+     */
+    public boolean getBoolean(final ConfigurationAdapter adapter) {
+        final boolean value = adapter.getBoolean(this.path(), this.primitiveDef);
+
+        if (this.possibilities() != null && !this.possibilities().contains(value)) {
+            adapter.getMetrics().recordValidationFailure(this);
+            adapter.getLogger().warn("Value '{}' is not in {}.", value, this.possibilities());
+            return this.primitiveDef;
+        }
+
+        return value;
+    }
+}
@@ -41,6 +41,7 @@ public class ComparableConfigKey<T extends Comparable<T>> extends SimpleConfigKe
 
         if (this.min != null && this.min.compareTo(value) >= 0
                 || this.max != null && this.max.compareTo(value) <= 0) {
+            adapter.getMetrics().recordValidationFailure(this);
             adapter.getLogger().warn("Value {} not in range [{},{}].", value, this.min, this.max);
             return this.def();
         }
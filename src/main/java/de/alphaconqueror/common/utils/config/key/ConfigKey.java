@@ -61,6 +61,16 @@ public interface ConfigKey<T> {
      */
     void setReloadable(final boolean reloadable);
 
+    /**
+     * Gets if the value of this key is only resolved once it is read for the first time after
+     * a (re)load.
+     *
+     * @return if the key is lazy
+     */
+    default boolean lazy() {
+        return false;
+    }
+
     /**
      * Resolves and returns the value mapped to this key using the given config instance.
      *
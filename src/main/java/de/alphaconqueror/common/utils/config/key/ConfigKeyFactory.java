@@ -27,11 +27,18 @@ package de.alphaconqueror.common.utils.config.key;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
 import de.alphaconqueror.common.utils.config.adapter.ConfigurationAdapter;
+import de.alphaconqueror.common.utils.util.StringDoubleMap;
+import de.alphaconqueror.common.utils.util.StringIntMap;
+import de.alphaconqueror.common.utils.util.StringLongMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.function.Function;
+import ninja.leaping.configurate.Types;
 
 public interface ConfigKeyFactory<T> {
 
@@ -53,8 +60,59 @@ public interface ConfigKeyFactory<T> {
 
     ConfigKeyFactory<List<Double>> DOUBLE_LIST = (config, path, def) -> ImmutableList.copyOf(
             config.getDoubleList(path, ImmutableList.of()));
+    ConfigKeyFactory<ImmutableIntArray> INT_ARRAY = ConfigurationAdapter::getIntArray;
+    ConfigKeyFactory<ImmutableLongArray> LONG_ARRAY = ConfigurationAdapter::getLongArray;
+    ConfigKeyFactory<ImmutableDoubleArray> DOUBLE_ARRAY = ConfigurationAdapter::getDoubleArray;
     ConfigKeyFactory<Map<String, String>> STRING_MAP = (config, path, def) -> ImmutableMap.copyOf(
             config.getStringMap(path, ImmutableMap.of()));
+    ConfigKeyFactory<Map<String, Integer>> INT_MAP = mapFactory(Types::asInt);
+    ConfigKeyFactory<Map<String, Long>> LONG_MAP = mapFactory(Types::asLong);
+    ConfigKeyFactory<Map<String, Double>> DOUBLE_MAP = mapFactory(Types::asDouble);
+    ConfigKeyFactory<Map<String, List<String>>> STRING_LIST_MAP = mapFactory(
+            listDecoder(Types::asString));
+    ConfigKeyFactory<StringIntMap> STRING_INT_MAP = ConfigurationAdapter::getStringIntMap;
+    ConfigKeyFactory<StringLongMap> STRING_LONG_MAP = ConfigurationAdapter::getStringLongMap;
+    ConfigKeyFactory<StringDoubleMap> STRING_DOUBLE_MAP = ConfigurationAdapter::getStringDoubleMap;
+
+    /**
+     * Creates a factory for map sections whose values are decoded by the given decoder.
+     *
+     * @param decoder the decoder for the raw values, returning null for invalid ones
+     * @param <V>     the value type
+     * @return the factory
+     */
+    static <V> ConfigKeyFactory<Map<String, V>> mapFactory(final Function<Object, V> decoder) {
+        return (config, path, def) -> config.getMap(path, decoder, def);
+    }
+
+    /**
+     * Creates a decoder for list values whose elements are decoded by the given decoder.
+     *
+     * @param elementDecoder the decoder for the raw elements, returning null for invalid ones
+     * @param <E>            the element type
+     * @return the decoder
+     */
+    static <E> Function<Object, List<E>> listDecoder(final Function<Object, E> elementDecoder) {
+        return value -> {
+            if (!(value instanceof List)) {
+                return null;
+            }
+
+            final List<?> list = (List<?>) value;
+            final ImmutableList.Builder<E> builder = ImmutableList.builderWithExpectedSize(
+                    list.size());
+
+            for (final Object element : list) {
+                final E decoded = elementDecoder.apply(element);
+
+                if (decoded != null) {
+                    builder.add(decoded);
+                }
+            }
+
+            return builder.build();
+        };
+    }
 
     static <T> DefaultConfigKey<T> key(final Function<ConfigurationAdapter, T> function) {
         return new DefaultConfigKey<>(function);
@@ -70,6 +128,11 @@ public interface ConfigKeyFactory<T> {
         return new ComparableConfigKey<>(factory, path, def);
     }
 
+    static <T> DefaultConfigKey<T> lazy(final DefaultConfigKey<T> key) {
+        key.setLazy(true);
+        return key;
+    }
+
     static <T> ConfigKey<T> notReloadable(final ConfigKey<T> key) {
         key.setReloadable(false);
         return key;
@@ -81,6 +144,21 @@ public interface ConfigKeyFactory<T> {
         return key;
     }
 
+    static IntConfigKey range(final IntConfigKey key, final int min, final int max) {
+        key.setRange(min, max);
+        return key;
+    }
+
+    static LongConfigKey range(final LongConfigKey key, final long min, final long max) {
+        key.setRange(min, max);
+        return key;
+    }
+
+    static DoubleConfigKey range(final DoubleConfigKey key, final double min, final double max) {
+        key.setRange(min, max);
+        return key;
+    }
+
     @SafeVarargs
     static <T> SimpleConfigKey<T> limit(final SimpleConfigKey<T> key, final T... possibilities) {
         key.setPossibilities(Sets.newHashSet(possibilities));
@@ -111,6 +189,22 @@ public interface ConfigKeyFactory<T> {
         return comparableKey(DOUBLE, path, def);
     }
 
+    static BooleanConfigKey primitiveBooleanKey(final String path, final boolean def) {
+        return new BooleanConfigKey(path, def);
+    }
+
+    static IntConfigKey primitiveIntKey(final String path, final int def) {
+        return new IntConfigKey(path, def);
+    }
+
+    static LongConfigKey primitiveLongKey(final String path, final long def) {
+        return new LongConfigKey(path, def);
+    }
+
+    static DoubleConfigKey primitiveDoubleKey(final String path, final double def) {
+        return new DoubleConfigKey(path, def);
+    }
+
     static SimpleConfigKey<List<String>> stringListKey(final String path, final List<String> def) {
         return key(STRING_LIST, path, def);
     }
@@ -127,11 +221,71 @@ public interface ConfigKeyFactory<T> {
         return key(DOUBLE_LIST, path, def);
     }
 
+    static SimpleConfigKey<ImmutableIntArray> intArrayKey(final String path,
+            final ImmutableIntArray def) {
+        return key(INT_ARRAY, path, def);
+    }
+
+    static SimpleConfigKey<ImmutableLongArray> longArrayKey(final String path,
+            final ImmutableLongArray def) {
+        return key(LONG_ARRAY, path, def);
+    }
+
+    static SimpleConfigKey<ImmutableDoubleArray> doubleArrayKey(final String path,
+            final ImmutableDoubleArray def) {
+        return key(DOUBLE_ARRAY, path, def);
+    }
+
     static SimpleConfigKey<Map<String, String>> stringStringMapKey(final String path,
             final Map<String, String> def) {
         return key(STRING_MAP, path, def);
     }
 
+    static <V> SimpleConfigKey<Map<String, V>> mapKey(final String path,
+            final Function<Object, V> decoder, final Map<String, V> def) {
+        return key(mapFactory(decoder), path, def);
+    }
+
+    static SimpleConfigKey<Map<String, Integer>> intMapKey(final String path,
+            final Map<String, Integer> def) {
+        return key(INT_MAP, path, def);
+    }
+
+    static SimpleConfigKey<Map<String, Long>> longMapKey(final String path,
+            final Map<String, Long> def) {
+        return key(LONG_MAP, path, def);
+    }
+
+    static SimpleConfigKey<Map<String, Double>> doubleMapKey(final String path,
+            final Map<String, Double> def) {
+        return key(DOUBLE_MAP, path, def);
+    }
+
+    static SimpleConfigKey<Map<String, List<String>>> stringListMapKey(final String path,
+            final Map<String, List<String>> def) {
+        return key(STRING_LIST_MAP, path, def);
+    }
+
+    static SimpleConfigKey<StringIntMap> stringIntMapKey(final String path,
+            final StringIntMap def) {
+        return key(STRING_INT_MAP, path, def);
+    }
+
+    static SimpleConfigKey<StringLongMap> stringLongMapKey(final String path,
+            final StringLongMap def) {
+        return key(STRING_LONG_MAP, path, def);
+    }
+
+    static SimpleConfigKey<StringDoubleMap> stringDoubleMapKey(final String path,
+            final StringDoubleMap def) {
+        return key(STRING_DOUBLE_MAP, path, def);
+    }
+
+    static <T> SimpleConfigKey<T> objectKey(final String path, final Class<T> type,
+            final T def) {
+        return key(ObjectKeyFactory.of(type), path, def);
+    }
+
     /**
      * Extracts the value from the config.
      *
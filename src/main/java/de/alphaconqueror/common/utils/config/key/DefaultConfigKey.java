@@ -33,6 +33,7 @@ public class DefaultConfigKey<T> implements ConfigKey<T> {
 
     private int ordinal = -1;
     private boolean reloadable = true;
+    private boolean lazy;
 
     DefaultConfigKey(final Function<? super ConfigurationAdapter, ? extends T> function) {
         this.function = function;
@@ -53,6 +54,11 @@ public class DefaultConfigKey<T> implements ConfigKey<T> {
         return this.reloadable;
     }
 
+    @Override
+    public boolean lazy() {
+        return this.lazy;
+    }
+
     @Override
     public void setOrdinal(final int ordinal) {
         this.ordinal = ordinal;
@@ -62,4 +68,15 @@ public class DefaultConfigKey<T> implements ConfigKey<T> {
     public void setReloadable(final boolean reloadable) {
         this.reloadable = reloadable;
     }
+
+    /**
+     * Sets the lazy flag. A lazy key is resolved on first access and memoized until the next
+     * reload. A reload only reports a lazy key as changed if its previous value has been
+     * resolved and differs from the new one; an unresolved value has not been seen by anyone.
+     *
+     * @param lazy if lazy
+     */
+    public void setLazy(final boolean lazy) {
+        this.lazy = lazy;
+    }
 }
@@ -0,0 +1,368 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.key;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationAdapter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import ninja.leaping.configurate.Types;
+import ninja.leaping.configurate.objectmapping.Setting;
+
+/**
+ * {@link ConfigKeyFactory} mapping a config section onto an instance of a class.
+ * <p>
+ * Every non-static, non-transient and non-final field of the class and its superclasses is
+ * bound to the child node named after the field, or after the value of its {@link Setting}
+ * annotation. Fields may be of any type covered by the constants of {@link ConfigKeyFactory},
+ * an enum or another mappable class, but a class must not contain itself, directly or through
+ * its fields. The fields are looked up once, when the factory is created, and bound through
+ * method handles.
+ *
+ * @param <T> the mapped type
+ */
+public final class ObjectKeyFactory<T> implements ConfigKeyFactory<T> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+            Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class,
+            Object.class);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final List<Binding> bindings;
+
+    private ObjectKeyFactory(final Class<T> type, final MethodHandle constructor,
+            final List<Binding> bindings) {
+        this.type = type;
+        this.constructor = constructor;
+        this.bindings = bindings;
+    }
+
+    /**
+     * Compiles the binding plan of the given class.
+     *
+     * @param type the class, which needs a no-args constructor
+     * @param <T>  the mapped type
+     * @return the factory
+     * @throws IllegalArgumentException if the class or one of its fields cannot be mapped, or
+     *                                  if the class contains itself
+     */
+    public static <T> ObjectKeyFactory<T> of(final Class<T> type) {
+        return of(type, new LinkedHashSet<>());
+    }
+
+    /**
+     * Compiles the binding plan of the given class.
+     *
+     * @param type      the class
+     * @param resolving the classes whose binding plans are being compiled, outermost first
+     * @param <T>       the mapped type
+     * @return the factory
+     */
+    private static <T> ObjectKeyFactory<T> of(final Class<T> type,
+            final Set<Class<?>> resolving) {
+        if (!resolving.add(type)) {
+            throw new IllegalArgumentException(type.getName() + " contains itself: "
+                    + resolving.stream()
+                            .map(Class::getName)
+                            .collect(Collectors.joining(" -> ")) + " -> " + type.getName());
+        }
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodHandle constructor;
+
+        try {
+            final Constructor<T> declared = type.getDeclaredConstructor();
+
+            declared.setAccessible(true);
+            constructor = lookup.unreflectConstructor(declared).asType(CONSTRUCTOR_TYPE);
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " has no accessible no-args "
+                    + "constructor.", e);
+        }
+
+        final ImmutableList.Builder<Binding> bindings = ImmutableList.builder();
+
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                        || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+
+                final Setting setting = field.getAnnotation(Setting.class);
+                final String name = setting == null || setting.value().isEmpty()
+                        ? field.getName()
+                        : setting.value();
+
+                field.setAccessible(true);
+
+                try {
+                    bindings.add(new Binding(name, factoryFor(field, resolving),
+                            lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                            lookup.unreflectSetter(field).asType(SETTER_TYPE),
+                            field.getType().isPrimitive()));
+                } catch (final IllegalAccessException e) {
+                    throw new IllegalArgumentException("Field " + field + " is not accessible.",
+                            e);
+                }
+            }
+        }
+
+        resolving.remove(type);
+        return new ObjectKeyFactory<>(type, constructor, bindings.build());
+    }
+
+    @Override
+    public T getValue(final ConfigurationAdapter config, final String path, final T def) {
+        try {
+            final Object instance = (Object) this.constructor.invokeExact();
+
+            for (final Binding binding : this.bindings) {
+                // fall back to the value of the default instance or the field initialiser
+                final Object fieldDef = (Object) binding.getter.invokeExact(def == null
+                        ? instance
+                        : (Object) def);
+                final Object value = binding.factory.getValue(config, path + '.' + binding.name,
+                        fieldDef);
+
+                if (value != null || !binding.primitive) {
+                    binding.setter.invokeExact(instance, value);
+                }
+            }
+
+            return this.type.cast(instance);
+        } catch (final Throwable t) {
+            Throwables.throwIfUnchecked(t);
+            throw new IllegalStateException("Could not map " + path + " to "
+                    + this.type.getName() + '.', t);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ConfigKeyFactory<Object> factoryFor(final Field field,
+            final Set<Class<?>> resolving) {
+        final Class<?> type = field.getType();
+        final ConfigKeyFactory<?> factory;
+
+        if (type == boolean.class) {
+            factory = BOOLEAN;
+        } else if (type == int.class) {
+            factory = INT;
+        } else if (type == long.class) {
+            factory = LONG;
+        } else if (type == double.class) {
+            factory = DOUBLE;
+        } else if (type == Boolean.class) {
+            factory = boxedFactory(Types::asBoolean);
+        } else if (type == Integer.class) {
+            factory = boxedFactory(Types::asInt);
+        } else if (type == Long.class) {
+            factory = boxedFactory(Types::asLong);
+        } else if (type == Double.class) {
+            factory = boxedFactory(Types::asDouble);
+        } else if (type == String.class) {
+            factory = STRING;
+        } else if (type == ImmutableIntArray.class) {
+            factory = INT_ARRAY;
+        } else if (type == ImmutableLongArray.class) {
+            factory = LONG_ARRAY;
+        } else if (type == ImmutableDoubleArray.class) {
+            factory = DOUBLE_ARRAY;
+        } else if (type == List.class) {
+            factory = listFactory(field);
+        } else if (type == Map.class) {
+            factory = mapFactory(field);
+        } else if (type.isEnum()) {
+            factory = enumFactory((Class) type);
+        } else if (type.isPrimitive() || type.isArray() || type.isInterface()) {
+            throw unsupported(field);
+        } else {
+            factory = of(type, resolving);
+        }
+
+        return (ConfigKeyFactory<Object>) factory;
+    }
+
+    private static ConfigKeyFactory<?> listFactory(final Field field) {
+        if (isParameterizedWith(field, String.class)) {
+            return immutableList(ConfigurationAdapter::getStringList);
+        }
+
+        if (isParameterizedWith(field, Integer.class)) {
+            return immutableList(ConfigurationAdapter::getIntList);
+        }
+
+        if (isParameterizedWith(field, Long.class)) {
+            return immutableList(ConfigurationAdapter::getLongList);
+        }
+
+        if (isParameterizedWith(field, Double.class)) {
+            return immutableList(ConfigurationAdapter::getDoubleList);
+        }
+
+        throw unsupported(field);
+    }
+
+    private static ConfigKeyFactory<?> mapFactory(final Field field) {
+        if (isParameterizedWith(field, String.class, String.class)) {
+            return STRING_MAP;
+        }
+
+        if (isParameterizedWith(field, String.class, Integer.class)) {
+            return INT_MAP;
+        }
+
+        if (isParameterizedWith(field, String.class, Long.class)) {
+            return LONG_MAP;
+        }
+
+        if (isParameterizedWith(field, String.class, Double.class)) {
+            return DOUBLE_MAP;
+        }
+
+        throw unsupported(field);
+    }
+
+    /**
+     * Gets a factory for a list field, which unlike the list constants falls back to the value
+     * of the field if the list is missing.
+     *
+     * @param reader the factory reading the list
+     * @param <E>    the element type
+     * @return the factory
+     */
+    private static <E> ConfigKeyFactory<List<E>> immutableList(
+            final ConfigKeyFactory<List<E>> reader) {
+        return (config, path, def) -> {
+            final List<E> value = reader.getValue(config, path, def);
+            return value == null ? null : ImmutableList.copyOf(value);
+        };
+    }
+
+    /**
+     * Gets a factory for a boxed field, which unlike the primitive factories accepts a null
+     * default, e.g. of a field without initialiser.
+     *
+     * @param decoder the decoder for the raw value
+     * @param <V>     the boxed type
+     * @return the factory
+     */
+    private static <V> ConfigKeyFactory<V> boxedFactory(final Function<Object, V> decoder) {
+        return (config, path, def) -> {
+            final String raw = config.getString(path, null);
+
+            if (raw == null) {
+                return def;
+            }
+
+            final V value = decoder.apply(raw);
+            return value == null ? def : value;
+        };
+    }
+
+    private static <E extends Enum<E>> ConfigKeyFactory<E> enumFactory(final Class<E> type) {
+        return (config, path, def) -> {
+            final String name = config.getString(path, def == null ? null : def.name());
+
+            if (name == null) {
+                return def;
+            }
+
+            try {
+                return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                config.getLogger().warn("Value '{}' is not in {}.", name, EnumSet.allOf(type));
+                return def;
+            }
+        };
+    }
+
+    private static boolean isParameterizedWith(final Field field, final Type... arguments) {
+        final Type generic = field.getGenericType();
+
+        if (!(generic instanceof ParameterizedType)) {
+            return false;
+        }
+
+        final Type[] actual = ((ParameterizedType) generic).getActualTypeArguments();
+
+        if (actual.length != arguments.length) {
+            return false;
+        }
+
+        for (int i = 0; i < actual.length; i++) {
+            if (!actual[i].equals(arguments[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static IllegalArgumentException unsupported(final Field field) {
+        return new IllegalArgumentException("Field " + field + " has an unsupported type.");
+    }
+
+    private static final class Binding {
+
+        private final String name;
+        private final ConfigKeyFactory<Object> factory;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final boolean primitive;
+
+        private Binding(final String name, final ConfigKeyFactory<Object> factory,
+                final MethodHandle getter, final MethodHandle setter, final boolean primitive) {
+            this.name = name;
+            this.factory = factory;
+            this.getter = getter;
+            this.setter = setter;
+            this.primitive = primitive;
+        }
+    }
+}
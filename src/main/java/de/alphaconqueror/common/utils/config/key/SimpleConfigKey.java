@@ -56,6 +56,7 @@ public class SimpleConfigKey<T> implements ConfigKey<T> {
             return result;
         }
 
+        adapter.getMetrics().recordValidationFailure(this);
         adapter.getLogger().warn("Value '{}' is not in {}.", result, this.possibilities());
         return this.def;
     }
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.metrics;
+
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+
+/**
+ * Listens for timings and events of config loading. All methods do nothing by default.
+ */
+public interface ConfigMetrics {
+
+    /**
+     * Metrics that record nothing.
+     */
+    ConfigMetrics NONE = new ConfigMetrics() {};
+
+    /**
+     * Records the time it took to parse the config source.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    default void recordParse(final long nanos) {}
+
+    /**
+     * Records the time it took to evaluate all keys that had to be (re)loaded.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    default void recordLoad(final long nanos) {}
+
+    /**
+     * Records the time a full reload took, including parsing and key evaluation.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    default void recordReload(final long nanos) {}
+
+    /**
+     * Gets the evaluation time above which a key is considered slow.
+     *
+     * @return the threshold in nanoseconds
+     */
+    default long slowKeyThresholdNanos() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Records the evaluation time of a key that took longer than
+     * {@link #slowKeyThresholdNanos()}.
+     *
+     * @param key   the key
+     * @param nanos the time in nanoseconds
+     */
+    default void recordSlowKey(final ConfigKey<?> key, final long nanos) {}
+
+    /**
+     * Records that a path could not be found and the default value has been used.
+     *
+     * @param path the path
+     */
+    default void recordMissingKey(final String path) {}
+
+    /**
+     * Records that the value of a key has been rejected by its range or possibilities and the
+     * default value has been used.
+     *
+     * @param key the key
+     */
+    default void recordValidationFailure(final ConfigKey<?> key) {}
+}
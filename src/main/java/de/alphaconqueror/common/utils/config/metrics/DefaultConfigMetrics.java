@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConfigMetrics} implementation that sums up counts and timings in {@link LongAdder}s.
+ */
+public class DefaultConfigMetrics implements ConfigMetrics {
+
+    private final long slowKeyThresholdNanos;
+    private final LongAdder parseCount = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder reloadNanos = new LongAdder();
+    private final LongAdder missingKeyCount = new LongAdder();
+    private final LongAdder validationFailureCount = new LongAdder();
+    private final Map<ConfigKey<?>, LongAccumulator> slowKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new metrics that consider keys taking longer than 10 milliseconds as slow.
+     */
+    public DefaultConfigMetrics() {
+        this(10, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates new metrics.
+     *
+     * @param slowKeyThreshold the evaluation time above which a key is considered slow
+     * @param unit             the unit of the threshold
+     */
+    public DefaultConfigMetrics(final long slowKeyThreshold, final TimeUnit unit) {
+        this.slowKeyThresholdNanos = unit.toNanos(slowKeyThreshold);
+    }
+
+    @Override
+    public void recordParse(final long nanos) {
+        this.parseCount.increment();
+        this.parseNanos.add(nanos);
+    }
+
+    @Override
+    public void recordLoad(final long nanos) {
+        this.loadCount.increment();
+        this.loadNanos.add(nanos);
+    }
+
+    @Override
+    public void recordReload(final long nanos) {
+        this.reloadCount.increment();
+        this.reloadNanos.add(nanos);
+    }
+
+    @Override
+    public long slowKeyThresholdNanos() {
+        return this.slowKeyThresholdNanos;
+    }
+
+    @Override
+    public void recordSlowKey(final ConfigKey<?> key, final long nanos) {
+        this.slowKeys.computeIfAbsent(key, k -> new LongAccumulator(Math::max, 0))
+                .accumulate(nanos);
+    }
+
+    @Override
+    public void recordMissingKey(final String path) {
+        this.missingKeyCount.increment();
+    }
+
+    @Override
+    public void recordValidationFailure(final ConfigKey<?> key) {
+        this.validationFailureCount.increment();
+    }
+
+    public long parseCount() {
+        return this.parseCount.sum();
+    }
+
+    public long parseNanos() {
+        return this.parseNanos.sum();
+    }
+
+    public long loadCount() {
+        return this.loadCount.sum();
+    }
+
+    public long loadNanos() {
+        return this.loadNanos.sum();
+    }
+
+    public long reloadCount() {
+        return this.reloadCount.sum();
+    }
+
+    public long reloadNanos() {
+        return this.reloadNanos.sum();
+    }
+
+    public long missingKeyCount() {
+        return this.missingKeyCount.sum();
+    }
+
+    public long validationFailureCount() {
+        return this.validationFailureCount.sum();
+    }
+
+    /**
+     * Gets all keys that have been slow at least once.
+     *
+     * @return the slow keys mapped to their longest evaluation time in nanoseconds
+     */
+    public Map<ConfigKey<?>, Long> slowKeys() {
+        final ImmutableMap.Builder<ConfigKey<?>, Long> builder = ImmutableMap.builder();
+
+        this.slowKeys.forEach((key, nanos) -> builder.put(key, nanos.get()));
+        return builder.build();
+    }
+}
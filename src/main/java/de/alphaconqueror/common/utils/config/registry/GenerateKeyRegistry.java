@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.registry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link KeyRegistry} for the annotated pseudo-enum keys class at compile time.
+ * <p>
+ * The registry is generated as {@code <KeysClass>Registry} in the same package and holds all
+ * public static fields of the keys class whose type is a
+ * {@link de.alphaconqueror.common.utils.config.key.ConfigKey}, in declaration order. Unlike
+ * {@link de.alphaconqueror.common.utils.config.KeyedConfiguration#initialise(Class)}, which
+ * numbers the keys in the unspecified order of {@link Class#getFields()}, the registry does not
+ * support keys declared by supertypes and fails the compilation if there are any. Since both
+ * set the ordinals of the keys, a keys class has to be initialised by only one of them.
+ * <p>
+ * The processor is registered as a service of this library. Maven runs it if the library is on
+ * the compile classpath, while Gradle only runs processors on the annotation processor path:
+ * <pre>{@code
+ * dependencies {
+ *     implementation 'de.alphaconqueror:java-common-utils:<version>'
+ *     annotationProcessor 'de.alphaconqueror:java-common-utils:<version>'
+ * }
+ * }</pre>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateKeyRegistry {}
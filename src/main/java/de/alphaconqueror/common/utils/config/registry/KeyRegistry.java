@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.registry;
+
+import com.google.common.collect.ImmutableList;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.SimpleConfigKey;
+import java.util.List;
+
+/**
+ * An ordered set of keys with their ordinal values set, usually generated for a keys class
+ * annotated with {@link GenerateKeyRegistry}.
+ */
+public final class KeyRegistry {
+
+    private final List<ConfigKey<?>> keys;
+    private final String[] paths;
+
+    /**
+     * Creates a registry of the given keys and sets their ordinal values.
+     *
+     * @param keys the keys in ordinal order
+     */
+    public KeyRegistry(final ConfigKey<?>[] keys) {
+        this.keys = ImmutableList.copyOf(keys);
+        this.paths = new String[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i].setOrdinal(i);
+
+            if (keys[i] instanceof SimpleConfigKey) {
+                this.paths[i] = ((SimpleConfigKey<?>) keys[i]).path();
+            }
+        }
+    }
+
+    /**
+     * Gets the keys.
+     *
+     * @return the keys in ordinal order
+     */
+    public List<ConfigKey<?>> keys() {
+        return this.keys;
+    }
+
+    /**
+     * Gets the path of the given key.
+     *
+     * @param key the key
+     * @return the path, or null if the key is not bound to a single path
+     */
+    public String path(final ConfigKey<?> key) {
+        return this.paths[key.ordinal()];
+    }
+
+    /**
+     * Gets the paths of all keys that are bound to a single path.
+     *
+     * @return the paths
+     */
+    public List<String> paths() {
+        final ImmutableList.Builder<String> builder = ImmutableList.builder();
+
+        for (final String path : this.paths) {
+            if (path != null) {
+                builder.add(path);
+            }
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.registry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates the {@link KeyRegistry} of keys classes annotated with {@link GenerateKeyRegistry}.
+ */
+@SupportedAnnotationTypes("de.alphaconqueror.common.utils.config.registry.GenerateKeyRegistry")
+public class KeyRegistryProcessor extends AbstractProcessor {
+
+    private static final String CONFIG_KEY = "de.alphaconqueror.common.utils.config.key.ConfigKey";
+    // keeps each generated method well below the bytecode size limit
+    private static final int KEYS_PER_METHOD = 1000;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+            final RoundEnvironment roundEnv) {
+        for (final Element element : roundEnv.getElementsAnnotatedWith(
+                GenerateKeyRegistry.class)) {
+            if (element.getKind() != ElementKind.CLASS
+                    && element.getKind() != ElementKind.INTERFACE) {
+                this.processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR,
+                                "@GenerateKeyRegistry can only be applied to classes.", element);
+                continue;
+            }
+
+            try {
+                this.generate((TypeElement) element);
+            } catch (final IOException e) {
+                this.processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR,
+                                "Could not generate key registry: " + e.getMessage(), element);
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(final TypeElement keysClass) throws IOException {
+        final Types types = this.processingEnv.getTypeUtils();
+        final TypeMirror configKey = types.erasure(
+                this.processingEnv.getElementUtils().getTypeElement(CONFIG_KEY).asType());
+
+        // KeyedConfiguration#initialise also selects inherited keys, but in no defined order
+        if (this.inheritsKeys(keysClass, types, configKey)) {
+            this.processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR,
+                            "@GenerateKeyRegistry does not support keys declared by supertypes.",
+                            keysClass);
+            return;
+        }
+
+        final List<String> fields = new ArrayList<>();
+
+        for (final Element member : keysClass.getEnclosedElements()) {
+            if (isKey(member, types, configKey)) {
+                fields.add(member.getSimpleName().toString());
+            }
+        }
+
+        final String packageName = this.processingEnv.getElementUtils()
+                .getPackageOf(keysClass)
+                .getQualifiedName()
+                .toString();
+        final String binaryName = this.processingEnv.getElementUtils()
+                .getBinaryName(keysClass)
+                .toString();
+        final String simpleName =
+                binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                        .replace('$', '_') + "Registry";
+        final String keysClassName = keysClass.getQualifiedName().toString();
+        final StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("import de.alphaconqueror.common.utils.config.key.ConfigKey;\n")
+                .append("import de.alphaconqueror.common.utils.config.registry.KeyRegistry;\n\n")
+                .append("/**\n * Generated key registry of {@link ")
+                .append(keysClassName)
+                .append("}.\n */\n")
+                .append("public final class ")
+                .append(simpleName)
+                .append(" {\n\n")
+                .append("    public static final KeyRegistry KEYS = new KeyRegistry(keys());\n\n")
+                .append("    private ")
+                .append(simpleName)
+                .append("() {}\n\n")
+                .append("    private static ConfigKey<?>[] keys() {\n")
+                .append("        final ConfigKey<?>[] keys = new ConfigKey<?>[")
+                .append(fields.size())
+                .append("];\n\n");
+
+        for (int i = 0; i < fields.size(); i += KEYS_PER_METHOD) {
+            source.append("        keys").append(i / KEYS_PER_METHOD).append("(keys);\n");
+        }
+
+        source.append("        return keys;\n    }\n");
+
+        for (int i = 0; i < fields.size(); i += KEYS_PER_METHOD) {
+            source.append("\n    private static void keys")
+                    .append(i / KEYS_PER_METHOD)
+                    .append("(final ConfigKey<?>[] keys) {\n");
+
+            for (int j = i; j < Math.min(fields.size(), i + KEYS_PER_METHOD); j++) {
+                source.append("        keys[")
+                        .append(j)
+                        .append("] = ")
+                        .append(keysClassName)
+                        .append('.')
+                        .append(fields.get(j))
+                        .append(";\n");
+            }
+
+            source.append("    }\n");
+        }
+
+        source.append("}\n");
+
+        try (final Writer writer = this.processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? simpleName
+                        : packageName + '.' + simpleName, keysClass)
+                .openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Checks if any supertype of the given class declares keys.
+     *
+     * @param type      the class
+     * @param types     the type utils
+     * @param configKey the erased key type
+     * @return if keys are inherited
+     */
+    private boolean inheritsKeys(final TypeElement type, final Types types,
+            final TypeMirror configKey) {
+        for (final TypeMirror supertype : types.directSupertypes(type.asType())) {
+            final TypeElement element = (TypeElement) ((DeclaredType) supertype).asElement();
+
+            for (final Element member : element.getEnclosedElements()) {
+                if (isKey(member, types, configKey)) {
+                    return true;
+                }
+            }
+
+            if (this.inheritsKeys(element, types, configKey)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if the given member is a public static field holding a key.
+     *
+     * @param member    the member
+     * @param types     the type utils
+     * @param configKey the erased key type
+     * @return if the member is a key
+     */
+    private static boolean isKey(final Element member, final Types types,
+            final TypeMirror configKey) {
+        return member.getKind() == ElementKind.FIELD
+                && member.getModifiers().contains(Modifier.PUBLIC)
+                && member.getModifiers().contains(Modifier.STATIC)
+                && types.isAssignable(types.erasure(member.asType()), configKey);
+    }
+}
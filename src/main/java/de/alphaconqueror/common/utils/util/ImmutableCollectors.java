@@ -25,15 +25,44 @@
 package de.alphaconqueror.common.utils.util;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
+/**
+ * Collectors into Guava's immutable collections.
+ * <p>
+ * The presized collectors presize every container they create. Every partition of a parallel
+ * stream gets a container of its own, so the expected size is best given for sequential
+ * streams.
+ */
 public final class ImmutableCollectors {
 
     private static final Collector<Object, ImmutableList.Builder<Object>, ImmutableList<Object>> LIST = Collector.of(
@@ -50,29 +79,87 @@ public final class ImmutableCollectors {
         return (Collector) LIST;
     }
 
+    /**
+     * Collects into an immutable list, presizing the builder for the given number of elements.
+     *
+     * @param expectedSize the expected number of elements
+     * @param <T>          the element type
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, ImmutableList<T>> toList(final int expectedSize) {
+        return Collector.of(() -> ImmutableList.<T>builderWithExpectedSize(expectedSize),
+                ImmutableList.Builder::add, (l, r) -> l.addAll(r.build()),
+                ImmutableList.Builder::build);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static <T> Collector<T, ImmutableSet.Builder<T>, ImmutableSet<T>> toSet() {
         return (Collector) SET;
     }
 
+    /**
+     * Collects into an immutable set, presizing the container for the given number of
+     * elements. Duplicates are dropped as they are added, and partitions of a parallel stream
+     * are merged directly into each other.
+     *
+     * @param expectedSize the expected number of distinct elements
+     * @param <T>          the element type
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, ImmutableSet<T>> toSet(final int expectedSize) {
+        return Collector.of(() -> Sets.<T>newLinkedHashSetWithExpectedSize(expectedSize),
+                LinkedHashSet::add, (l, r) -> {
+                    l.addAll(r);
+                    return l;
+                }, ImmutableSet::copyOf);
+    }
+
+    /**
+     * Collects into an immutable set backed by an {@link EnumSet}, which is handed over without
+     * being copied.
+     *
+     * @param <T> the enum type
+     * @return the collector
+     */
+    public static <T extends Enum<T>> Collector<T, ?, ImmutableSet<T>> toEnumSet() {
+        return Sets.toImmutableEnumSet();
+    }
+
+    /**
+     * Collects into an immutable set backed by an {@link EnumSet}.
+     *
+     * @param clazz the enum class
+     * @param <T>   the enum type
+     * @return the collector
+     * @deprecated the enum class is not needed anymore, use {@link #toEnumSet()}
+     */
+    @Deprecated
     public static <T extends Enum<T>> Collector<T, EnumSet<T>, ImmutableSet<T>> toEnumSet(
             final Class<T> clazz) {
         return Collector.of(() -> EnumSet.noneOf(clazz), EnumSet::add, (l, r) -> {
             l.addAll(r);
             return l;
-        }, ImmutableSet::copyOf);
+        }, Sets::immutableEnumSet);
     }
 
     public static <E extends Comparable<? super E>> Collector<E, ?, ImmutableSortedSet<E>> toSortedSet() {
-        return Collector.of(ImmutableSortedSet::<E>naturalOrder, ImmutableSortedSet.Builder::add,
-                (l, r) -> l.addAll(r.build()), ImmutableSortedSet.Builder::build);
+        return toSortedSet(Ordering.<E>natural());
     }
 
+    /**
+     * Collects into an immutable sorted set.
+     * <p>
+     * Each partition of a parallel stream is sorted once, and partitions are combined by
+     * merging their sorted elements, so nothing is sorted twice.
+     *
+     * @param comparator the comparator
+     * @param <E>        the element type
+     * @return the collector
+     */
     public static <E> Collector<E, ?, ImmutableSortedSet<E>> toSortedSet(
             final Comparator<? super E> comparator) {
-        return Collector.of(() -> new ImmutableSortedSet.Builder<E>(comparator),
-                ImmutableSortedSet.Builder::add, (l, r) -> l.addAll(r.build()),
-                ImmutableSortedSet.Builder::build);
+        return Collector.of(() -> new SortedRun<E>(comparator), SortedRun::add, SortedRun::merge,
+                SortedRun::build);
     }
 
     public static <T, K, V> Collector<T, ImmutableMap.Builder<K, V>, ImmutableMap<K, V>> toMap(
@@ -83,6 +170,64 @@ public final class ImmutableCollectors {
                 (l, r) -> l.putAll(r.build()), ImmutableMap.Builder::build);
     }
 
+    /**
+     * Collects into an immutable map, presizing the container for the given number of entries.
+     * Partitions of a parallel stream are merged directly into each other.
+     *
+     * @param keyMapper    the function mapping elements to keys
+     * @param valueMapper  the function mapping elements to values
+     * @param expectedSize the expected number of entries
+     * @param <T>          the element type
+     * @param <K>          the key type
+     * @param <V>          the value type
+     * @return the collector
+     * @throws IllegalArgumentException on collection, if two elements are mapped to the same key
+     */
+    public static <T, K, V> Collector<T, ?, ImmutableMap<K, V>> toMap(
+            final Function<? super T, ? extends K> keyMapper,
+            final Function<? super T, ? extends V> valueMapper, final int expectedSize) {
+        return Collector.of(() -> Maps.<K, V>newLinkedHashMapWithExpectedSize(expectedSize),
+                (r, t) -> putUnique(r, keyMapper.apply(t), valueMapper.apply(t)), (l, r) -> {
+                    for (final Map.Entry<K, V> entry : r.entrySet()) {
+                        putUnique(l, entry.getKey(), entry.getValue());
+                    }
+
+                    return l;
+                }, ImmutableMap::copyOf);
+    }
+
+    /**
+     * Collects into an immutable map backed by an {@link EnumMap}, which is handed over without
+     * being copied. If two elements are mapped to the same key, the later value wins.
+     *
+     * @param keyMapper   the function mapping elements to keys
+     * @param valueMapper the function mapping elements to values
+     * @param <T>         the element type
+     * @param <K>         the key type
+     * @param <V>         the value type
+     * @return the collector
+     */
+    public static <T, K extends Enum<K>, V> Collector<T, ?, ImmutableMap<K, V>> toEnumMap(
+            final Function<? super T, ? extends K> keyMapper,
+            final Function<? super T, ? extends V> valueMapper) {
+        return Maps.toImmutableEnumMap(keyMapper, valueMapper, (l, r) -> r);
+    }
+
+    /**
+     * Collects into an immutable map backed by an {@link EnumMap}. If two elements are mapped to
+     * the same key, the later value wins.
+     *
+     * @param clazz       the enum class of the keys
+     * @param keyMapper   the function mapping elements to keys
+     * @param valueMapper the function mapping elements to values
+     * @param <T>         the element type
+     * @param <K>         the key type
+     * @param <V>         the value type
+     * @return the collector
+     * @deprecated the enum class is not needed anymore, use
+     * {@link #toEnumMap(Function, Function)}
+     */
+    @Deprecated
     public static <T, K extends Enum<K>, V> Collector<T, EnumMap<K, V>, ImmutableMap<K, V>> toEnumMap(
             final Class<K> clazz, final Function<? super T, ? extends K> keyMapper,
             final Function<? super T, ? extends V> valueMapper) {
@@ -90,7 +235,269 @@ public final class ImmutableCollectors {
                 (r, t) -> r.put(keyMapper.apply(t), valueMapper.apply(t)), (l, r) -> {
                     l.putAll(r);
                     return l;
-                }, ImmutableMap::copyOf);
+                }, Maps::immutableEnumMap);
+    }
+
+    public static <T, K, V> Collector<T, ?, ImmutableListMultimap<K, V>> toMultimap(
+            final Function<? super T, ? extends K> keyMapper,
+            final Function<? super T, ? extends V> valueMapper) {
+        return ImmutableListMultimap.toImmutableListMultimap(keyMapper, valueMapper);
+    }
+
+    public static <T, K, V> Collector<T, ?, ImmutableSetMultimap<K, V>> toSetMultimap(
+            final Function<? super T, ? extends K> keyMapper,
+            final Function<? super T, ? extends V> valueMapper) {
+        return ImmutableSetMultimap.toImmutableSetMultimap(keyMapper, valueMapper);
+    }
+
+    /**
+     * Groups the elements by the given classifier, keeping the encounter order within each
+     * group. Unlike {@link java.util.stream.Collectors#groupingBy(Function)}, the groups are
+     * built in a single pass, without copying them afterwards.
+     *
+     * @param classifier the function mapping elements to their group
+     * @param <T>        the element type
+     * @param <K>        the group type
+     * @return the collector
+     */
+    public static <T, K> Collector<T, ?, ImmutableListMultimap<K, T>> groupingBy(
+            final Function<? super T, ? extends K> classifier) {
+        return ImmutableListMultimap.toImmutableListMultimap(classifier, Function.identity());
+    }
+
+    /**
+     * Collects into an immutable table.
+     *
+     * @param rowMapper    the function mapping elements to row keys
+     * @param columnMapper the function mapping elements to column keys
+     * @param valueMapper  the function mapping elements to values
+     * @param <T>          the element type
+     * @param <R>          the row key type
+     * @param <C>          the column key type
+     * @param <V>          the value type
+     * @return the collector
+     * @throws IllegalArgumentException on collection, if two elements are mapped to the same cell
+     */
+    public static <T, R, C, V> Collector<T, ?, ImmutableTable<R, C, V>> toTable(
+            final Function<? super T, ? extends R> rowMapper,
+            final Function<? super T, ? extends C> columnMapper,
+            final Function<? super T, ? extends V> valueMapper) {
+        return ImmutableTable.toImmutableTable(rowMapper, columnMapper, valueMapper);
+    }
+
+    /**
+     * Collects into an immutable table, merging the values of elements mapped to the same cell.
+     *
+     * @param rowMapper     the function mapping elements to row keys
+     * @param columnMapper  the function mapping elements to column keys
+     * @param valueMapper   the function mapping elements to values
+     * @param mergeFunction the function merging two values of the same cell
+     * @param <T>           the element type
+     * @param <R>           the row key type
+     * @param <C>           the column key type
+     * @param <V>           the value type
+     * @return the collector
+     */
+    public static <T, R, C, V> Collector<T, ?, ImmutableTable<R, C, V>> toTable(
+            final Function<? super T, ? extends R> rowMapper,
+            final Function<? super T, ? extends C> columnMapper,
+            final Function<? super T, ? extends V> valueMapper,
+            final BinaryOperator<V> mergeFunction) {
+        return ImmutableTable.toImmutableTable(rowMapper, columnMapper, valueMapper,
+                mergeFunction);
+    }
+
+    public static Collector<Integer, ?, ImmutableIntArray> toImmutableIntArray() {
+        return toImmutableIntArray(Integer::intValue);
     }
 
+    /**
+     * Collects the int values the elements are mapped to into an immutable array, without
+     * boxing them.
+     *
+     * @param mapper the function mapping elements to values
+     * @param <T>    the element type
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, ImmutableIntArray> toImmutableIntArray(
+            final ToIntFunction<? super T> mapper) {
+        return Collector.of(ImmutableIntArray::builder,
+                (builder, t) -> builder.add(mapper.applyAsInt(t)), (l, r) -> l.addAll(r.build()),
+                builder -> builder.build().trimmed());
+    }
+
+    public static Collector<Long, ?, ImmutableLongArray> toImmutableLongArray() {
+        return toImmutableLongArray(Long::longValue);
+    }
+
+    /**
+     * Collects the long values the elements are mapped to into an immutable array, without
+     * boxing them.
+     *
+     * @param mapper the function mapping elements to values
+     * @param <T>    the element type
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, ImmutableLongArray> toImmutableLongArray(
+            final ToLongFunction<? super T> mapper) {
+        return Collector.of(ImmutableLongArray::builder,
+                (builder, t) -> builder.add(mapper.applyAsLong(t)),
+                (l, r) -> l.addAll(r.build()), builder -> builder.build().trimmed());
+    }
+
+    public static Collector<Double, ?, ImmutableDoubleArray> toImmutableDoubleArray() {
+        return toImmutableDoubleArray(Double::doubleValue);
+    }
+
+    /**
+     * Collects the double values the elements are mapped to into an immutable array, without
+     * boxing them.
+     *
+     * @param mapper the function mapping elements to values
+     * @param <T>    the element type
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, ImmutableDoubleArray> toImmutableDoubleArray(
+            final ToDoubleFunction<? super T> mapper) {
+        return Collector.of(ImmutableDoubleArray::builder,
+                (builder, t) -> builder.add(mapper.applyAsDouble(t)),
+                (l, r) -> l.addAll(r.build()), builder -> builder.build().trimmed());
+    }
+
+    /**
+     * Collects the given stream into an immutable array. The values are buffered by the stream
+     * itself, which sizes its buffer exactly if the size of the stream is known.
+     *
+     * @param stream the stream, sequential or parallel
+     * @return the array
+     */
+    public static ImmutableIntArray collectInts(final IntStream stream) {
+        return ImmutableIntArray.copyOf(stream);
+    }
+
+    /**
+     * Collects the given stream into an immutable array. The values are buffered by the stream
+     * itself, which sizes its buffer exactly if the size of the stream is known.
+     *
+     * @param stream the stream, sequential or parallel
+     * @return the array
+     */
+    public static ImmutableLongArray collectLongs(final LongStream stream) {
+        return ImmutableLongArray.copyOf(stream);
+    }
+
+    /**
+     * Collects the given stream into an immutable array. The values are buffered by the stream
+     * itself, which sizes its buffer exactly if the size of the stream is known.
+     *
+     * @param stream the stream, sequential or parallel
+     * @return the array
+     */
+    public static ImmutableDoubleArray collectDoubles(final DoubleStream stream) {
+        return ImmutableDoubleArray.copyOf(stream);
+    }
+
+    /**
+     * Puts the given entry into the given map, rejecting duplicate keys like
+     * {@link ImmutableMap.Builder#buildOrThrow()} does.
+     *
+     * @param map   the map
+     * @param key   the key
+     * @param value the value
+     * @param <K>   the key type
+     * @param <V>   the value type
+     * @throws IllegalArgumentException if the map already contains the key
+     */
+    private static <K, V> void putUnique(final LinkedHashMap<K, V> map, final K key,
+            final V value) {
+        final V previous = map.putIfAbsent(Objects.requireNonNull(key),
+                Objects.requireNonNull(value));
+
+        if (previous != null) {
+            throw new IllegalArgumentException(
+                    "Multiple entries with same key: " + key + "=" + previous + " and " + key
+                            + "=" + value);
+        }
+    }
+
+    /**
+     * Elements of one partition, which are sorted and deduplicated lazily.
+     *
+     * @param <E> the element type
+     */
+    private static final class SortedRun<E> {
+
+        private final Comparator<? super E> comparator;
+        private ArrayList<E> elements = new ArrayList<>();
+        private boolean sorted = true;
+
+        private SortedRun(final Comparator<? super E> comparator) {
+            this.comparator = comparator;
+        }
+
+        private void add(final E element) {
+            this.elements.add(element);
+            this.sorted = false;
+        }
+
+        private SortedRun<E> merge(final SortedRun<E> other) {
+            this.sort();
+            other.sort();
+
+            final List<E> left = this.elements;
+            final List<E> right = other.elements;
+            final ArrayList<E> merged = new ArrayList<>(left.size() + right.size());
+            int i = 0;
+            int j = 0;
+
+            while (i < left.size() && j < right.size()) {
+                final int cmp = this.comparator.compare(left.get(i), right.get(j));
+
+                if (cmp < 0) {
+                    merged.add(left.get(i++));
+                } else if (cmp > 0) {
+                    merged.add(right.get(j++));
+                } else {
+                    // keep the first occurrence, like ImmutableSortedSet does
+                    merged.add(left.get(i++));
+                    j++;
+                }
+            }
+
+            merged.addAll(left.subList(i, left.size()));
+            merged.addAll(right.subList(j, right.size()));
+            this.elements = merged;
+            return this;
+        }
+
+        private ImmutableSortedSet<E> build() {
+            this.sort();
+
+            // the elements are sorted already, so this only checks the order
+            return ImmutableSortedSet.copyOf(this.comparator, this.elements);
+        }
+
+        /**
+         * Sorts the elements and removes duplicates, unless this has been done already.
+         */
+        private void sort() {
+            if (this.sorted) {
+                return;
+            }
+
+            this.elements.sort(this.comparator);
+
+            int size = 0;
+
+            for (int i = 0; i < this.elements.size(); i++) {
+                if (size == 0 || this.comparator.compare(this.elements.get(size - 1),
+                        this.elements.get(i)) != 0) {
+                    this.elements.set(size++, this.elements.get(i));
+                }
+            }
+
+            this.elements.subList(size, this.elements.size()).clear();
+            this.sorted = true;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.util;
+
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+
+/**
+ * Allocation-free helpers for Guava's immutable primitive arrays.
+ */
+public final class PrimitiveArrays {
+
+    private PrimitiveArrays() {}
+
+    /**
+     * Searches the given sorted array for the given value.
+     *
+     * @param array the array, sorted in ascending order
+     * @param key   the value to search for
+     * @return the index of the value, or {@code (-(insertion point) - 1)} if the array does not
+     * contain it, like {@link java.util.Arrays#binarySearch(int[], int)}
+     */
+    public static int binarySearch(final ImmutableIntArray array, final int key) {
+        int low = 0;
+        int high = array.length() - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int value = array.get(mid);
+
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the given sorted array for the given value.
+     *
+     * @param array the array, sorted in ascending order
+     * @param key   the value to search for
+     * @return the index of the value, or {@code (-(insertion point) - 1)} if the array does not
+     * contain it, like {@link java.util.Arrays#binarySearch(long[], long)}
+     */
+    public static int binarySearch(final ImmutableLongArray array, final long key) {
+        int low = 0;
+        int high = array.length() - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long value = array.get(mid);
+
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Searches the given sorted array for the given value.
+     *
+     * @param array the array, sorted in ascending order
+     * @param key   the value to search for
+     * @return the index of the value, or {@code (-(insertion point) - 1)} if the array does not
+     * contain it, like {@link java.util.Arrays#binarySearch(double[], double)}
+     */
+    public static int binarySearch(final ImmutableDoubleArray array, final double key) {
+        int low = 0;
+        int high = array.length() - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = Double.compare(array.get(mid), key);
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableDoubleArray;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable map from strings to double values, which stores its values without boxing.
+ * <p>
+ * The keys are kept sorted next to an {@link ImmutableDoubleArray} of their values, so lookups
+ * are a binary search.
+ */
+public final class StringDoubleMap {
+
+    private static final StringDoubleMap EMPTY = new StringDoubleMap(ImmutableList.of(),
+            ImmutableDoubleArray.of());
+
+    private final ImmutableList<String> keys;
+    private final ImmutableDoubleArray values;
+
+    private StringDoubleMap(final ImmutableList<String> keys, final ImmutableDoubleArray values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public static StringDoubleMap of() {
+        return EMPTY;
+    }
+
+    /**
+     * Copies the given map.
+     *
+     * @param map the map, which must not contain null values
+     * @return the copy
+     */
+    public static StringDoubleMap copyOf(final Map<String, ? extends Number> map) {
+        if (map.isEmpty()) {
+            return EMPTY;
+        }
+
+        final String[] keys = map.keySet().toArray(new String[0]);
+
+        Arrays.sort(keys);
+
+        final ImmutableDoubleArray.Builder values = ImmutableDoubleArray.builder(keys.length);
+
+        for (final String key : keys) {
+            values.add(map.get(key).doubleValue());
+        }
+
+        return new StringDoubleMap(ImmutableList.copyOf(keys), values.build());
+    }
+
+    /**
+     * Creates a map from the given keys and the values at the same indices, without copying
+     * them.
+     *
+     * @param keys   the keys in strictly ascending order
+     * @param values the values in the order of their keys
+     * @return the map
+     * @throws IllegalArgumentException if the keys are not strictly ascending or do not match
+     *                                  the values in number
+     */
+    public static StringDoubleMap copyOfSorted(final List<String> keys,
+            final ImmutableDoubleArray values) {
+        if (keys.size() != values.length()) {
+            throw new IllegalArgumentException(keys.size() + " keys but " + values.length()
+                    + " values.");
+        }
+
+        for (int i = 1; i < keys.size(); i++) {
+            if (keys.get(i - 1).compareTo(keys.get(i)) >= 0) {
+                throw new IllegalArgumentException("Keys are not strictly ascending at " + i
+                        + '.');
+            }
+        }
+
+        return keys.isEmpty()
+                ? EMPTY
+                : new StringDoubleMap(ImmutableList.copyOf(keys), values.trimmed());
+    }
+
+    /**
+     * Gets the value mapped to the given key.
+     *
+     * @param key the key
+     * @param def the value to return if the key is not mapped
+     * @return the value mapped to the key, or the default value
+     */
+    public double get(final String key, final double def) {
+        final int index = Collections.binarySearch(this.keys, key);
+        return index < 0
+                ? def
+                : this.values.get(index);
+    }
+
+    public boolean containsKey(final String key) {
+        return Collections.binarySearch(this.keys, key) >= 0;
+    }
+
+    public int size() {
+        return this.keys.size();
+    }
+
+    public boolean isEmpty() {
+        return this.keys.isEmpty();
+    }
+
+    /**
+     * Gets the keys in ascending order.
+     *
+     * @return the keys
+     */
+    public ImmutableList<String> keys() {
+        return this.keys;
+    }
+
+    /**
+     * Gets the values in the order of their {@link #keys() keys}.
+     *
+     * @return the values
+     */
+    public ImmutableDoubleArray values() {
+        return this.values;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof StringDoubleMap)) {
+            return false;
+        }
+
+        final StringDoubleMap other = (StringDoubleMap) o;
+        return this.keys.equals(other.keys) && this.values.equals(other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.keys.hashCode() + this.values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder().append('{');
+
+        for (int i = 0; i < this.keys.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+
+            builder.append(this.keys.get(i)).append('=').append(this.values.get(i));
+        }
+
+        return builder.append('}').toString();
+    }
+}
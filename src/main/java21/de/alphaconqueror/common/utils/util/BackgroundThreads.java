@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.alphaconqueror.common.utils.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the threads and executors used for background work, like watching and reloading
+ * config files.
+ * <p>
+ * Background work mostly waits for the file system, so it runs on virtual threads instead of
+ * occupying platform threads.
+ */
+public final class BackgroundThreads {
+
+    private static final Executor RELOAD_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private BackgroundThreads() {}
+
+    /**
+     * Creates a new, unstarted virtual thread.
+     *
+     * @param name the name of the thread
+     * @param task the task to run
+     * @return the thread
+     */
+    public static Thread newThread(final String name, final Runnable task) {
+        return Thread.ofVirtual().name(name).unstarted(task);
+    }
+
+    /**
+     * Gets the default executor for background reloads.
+     *
+     * @return the executor
+     */
+    public static Executor reloadExecutor() {
+        return RELOAD_EXECUTOR;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationLayer;
+import de.alphaconqueror.common.utils.config.adapter.LayeredConfigAdapter;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.ConfigKeyFactory;
+import de.alphaconqueror.common.utils.config.key.IntConfigKey;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigOverlayTest {
+
+    private static final Logger LOGGER = new Logger() {
+        @Override
+        public void info(final String s, final Object... args) {}
+
+        @Override
+        public void warn(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Throwable t) {}
+    };
+    private static final int KEY_COUNT = 200;
+
+    private final List<IntConfigKey> keys = new ArrayList<>();
+    private KeyedConfiguration config;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < KEY_COUNT; i++) {
+            final IntConfigKey key = ConfigKeyFactory.primitiveIntKey("key" + i, i);
+
+            key.setOrdinal(i);
+            this.keys.add(key);
+        }
+
+        this.config = new KeyedConfiguration(LOGGER,
+                new LayeredConfigAdapter(LOGGER,
+                        Collections.singletonList(ConfigurationLayer.of(Collections.emptyMap()))),
+                new ArrayList<ConfigKey<?>>(this.keys));
+        this.config.init();
+    }
+
+    @Test
+    void overriddenKeysAreFoundAndOthersFallBack() {
+        final ConfigOverlay.Builder builder = ConfigOverlay.builder(this.config);
+
+        // enough keys that some of them collide and have to be probed for
+        for (int i = 0; i < KEY_COUNT; i += 3) {
+            builder.set(this.keys.get(i), -i);
+        }
+
+        final ConfigOverlay overlay = builder.build();
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            final IntConfigKey key = this.keys.get(i);
+            final int expected = i % 3 == 0 ? -i : i;
+
+            assertEquals(i % 3 == 0, overlay.overrides(key));
+            assertEquals(expected, overlay.getInt(key));
+            assertEquals(expected, (int) overlay.get(key));
+        }
+    }
+
+    @Test
+    void emptyOverlayFallsBackToTheBase() {
+        final ConfigOverlay overlay = ConfigOverlay.builder(this.config).build();
+
+        for (final IntConfigKey key : this.keys) {
+            assertFalse(overlay.overrides(key));
+            assertEquals(key.ordinal(), overlay.getInt(key));
+        }
+    }
+
+    @Test
+    void nullOverrideIsNotAFallBack() {
+        final ConfigOverlay overlay = ConfigOverlay.builder(this.config)
+                .set(this.keys.get(7), null)
+                .build();
+
+        assertTrue(overlay.overrides(this.keys.get(7)));
+        assertNull(overlay.get(this.keys.get(7)));
+        assertEquals(8, (int) overlay.get(this.keys.get(8)));
+    }
+}
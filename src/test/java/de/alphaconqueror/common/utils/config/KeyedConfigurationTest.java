@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationLayer;
+import de.alphaconqueror.common.utils.config.adapter.LayeredConfigAdapter;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.ConfigKeyFactory;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs against the Java 8 classes by {@code test} and against the multi-release jar on Java 21
+ * by {@code testJava21}, where background reloads run on virtual threads.
+ */
+class KeyedConfigurationTest {
+
+    private static final Logger LOGGER = new Logger() {
+        @Override
+        public void info(final String s, final Object... args) {}
+
+        @Override
+        public void warn(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Throwable t) {}
+    };
+    private static final AtomicInteger LAZY_READS = new AtomicInteger();
+    private static final List<ConfigKey<?>> KEYS = KeyedConfiguration.initialise(Keys.class);
+
+    private final Map<String, Object> values = new HashMap<>();
+    private KeyedConfiguration config;
+
+    @BeforeEach
+    void setUp() {
+        this.values.put("name", "a");
+        this.values.put("count", 1);
+        LAZY_READS.set(0);
+
+        final ConfigurationLayer layer = new ConfigurationLayer() {
+            @Override
+            public boolean hasChanged() {
+                return true;
+            }
+
+            @Override
+            public Map<String, Object> load() {
+                return new HashMap<>(KeyedConfigurationTest.this.values);
+            }
+        };
+
+        this.config = new KeyedConfiguration(LOGGER,
+                new LayeredConfigAdapter(LOGGER, Collections.singletonList(layer)), KEYS);
+        this.config.init();
+    }
+
+    @Test
+    void reloadPublishesChangedValues() {
+        final AtomicInteger notified = new AtomicInteger();
+
+        this.config.subscribe(changes -> notified.incrementAndGet(), Keys.NAME);
+        this.values.put("name", "b");
+
+        final ConfigChangeSet changes = this.config.reloadChanges();
+
+        assertTrue(changes.changed(Keys.NAME));
+        assertFalse(changes.changed(Keys.COUNT));
+        assertEquals("b", this.config.get(Keys.NAME));
+        assertEquals(1, notified.get());
+    }
+
+    @Test
+    void reloadAsyncCompletesWithTheNewSnapshot() throws Exception {
+        this.values.put("count", 2);
+
+        final KeyedConfiguration.ValuesMap values = this.config.reloadAsync()
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, (int) values.get(Keys.COUNT));
+        assertEquals(2, (int) this.config.get(Keys.COUNT));
+    }
+
+    @Test
+    void reloadAsyncWithSynchronousExecutorReturnsItsFuture() throws Exception {
+        this.config.setReloadExecutor(Runnable::run);
+        this.values.put("count", 3);
+
+        final CompletableFuture<KeyedConfiguration.ValuesMap> future = this.config.reloadAsync();
+
+        assertTrue(future.isDone());
+        assertEquals(3, (int) future.get().get(Keys.COUNT));
+    }
+
+    @Test
+    void reloadAsyncWithRejectingExecutorFails() {
+        this.config.setReloadExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+
+        final CompletableFuture<KeyedConfiguration.ValuesMap> future = this.config.reloadAsync();
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void lazyKeyIsNotResolvedByReload() {
+        assertEquals(0, LAZY_READS.get());
+
+        this.config.reload();
+
+        assertEquals(0, LAZY_READS.get());
+        assertEquals("a", this.config.get(Keys.LAZY_NAME));
+        assertEquals(1, LAZY_READS.get());
+    }
+
+    @Test
+    void lazyValueResolvesToItsOwnGeneration() {
+        final KeyedConfiguration.ValuesMap previous = this.config.snapshot();
+
+        this.values.put("name", "b");
+        this.config.reload();
+
+        assertEquals("a", previous.get(Keys.LAZY_NAME));
+        assertEquals("b", this.config.get(Keys.LAZY_NAME));
+    }
+
+    @Test
+    void lazyKeyIsOnlyReportedChangedOnceResolved() {
+        this.values.put("name", "b");
+        assertFalse(this.config.reloadChanges().changed(Keys.LAZY_NAME));
+        assertEquals(0, LAZY_READS.get());
+
+        assertEquals("b", this.config.get(Keys.LAZY_NAME));
+        this.values.put("name", "c");
+        assertTrue(this.config.reloadChanges().changed(Keys.LAZY_NAME));
+        assertFalse(this.config.reloadChanges().changed(Keys.LAZY_NAME));
+    }
+
+    @Test
+    void closedDerivedValueIsNotRecomputed() {
+        final DerivedValue<String> derived = this.config.derived(
+                Collections.singletonList(Keys.NAME), values -> values.get(Keys.NAME) + "!");
+
+        this.values.put("name", "b");
+        this.config.reload();
+        assertEquals("b!", derived.get());
+
+        derived.close();
+        this.values.put("name", "c");
+        this.config.reload();
+        assertEquals("b!", derived.get());
+    }
+
+    public static final class Keys {
+
+        public static final ConfigKey<String> NAME = ConfigKeyFactory.stringKey("name", "");
+        public static final ConfigKey<Integer> COUNT = ConfigKeyFactory.intKey("count", 0);
+        public static final ConfigKey<String> LAZY_NAME = ConfigKeyFactory.lazy(
+                ConfigKeyFactory.key(adapter -> {
+                    LAZY_READS.incrementAndGet();
+                    return adapter.getString("name", "");
+                }));
+
+        private Keys() {}
+    }
+}
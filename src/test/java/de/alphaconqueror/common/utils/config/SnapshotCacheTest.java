@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.google.common.hash.HashCode;
+import de.alphaconqueror.common.utils.config.key.ConfigKey;
+import de.alphaconqueror.common.utils.config.key.ConfigKeyFactory;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnapshotCacheTest {
+
+    private static final Logger LOGGER = new Logger() {
+        @Override
+        public void info(final String s, final Object... args) {}
+
+        @Override
+        public void warn(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Throwable t) {}
+    };
+    private static final List<ConfigKey<?>> KEYS = KeyedConfiguration.initialise(Keys.class);
+    private static final List<ConfigKey<?>> LOWERCASE_KEYS = KeyedConfiguration.initialise(
+            LowercaseKeys.class);
+    private static final List<ConfigKey<?>> CUSTOM_KEYS = KeyedConfiguration.initialise(
+            CustomKeys.class);
+
+    private Path source;
+    private SnapshotCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path directory = Files.createTempDirectory("snapshot-cache");
+
+        this.source = directory.resolve("config.conf");
+        Files.write(this.source, "name = \"A\"".getBytes(StandardCharsets.UTF_8));
+        this.cache = new SnapshotCache(LOGGER, directory.resolve("config.snapshot"),
+                this.source);
+    }
+
+    @Test
+    void writtenValuesAreRestored() {
+        this.write(KEYS, Keys.NAME, "A");
+
+        final KeyedConfiguration.ValuesMap values = this.cache.read(
+                this.cache.fingerprint(KEYS), KEYS);
+
+        assertNotNull(values);
+        assertEquals("A", values.get(Keys.NAME));
+    }
+
+    @Test
+    void changedSourceInvalidatesTheSnapshot() throws IOException {
+        this.write(KEYS, Keys.NAME, "A");
+        Files.write(this.source, "name = \"B\"".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(this.cache.read(this.cache.fingerprint(KEYS), KEYS));
+    }
+
+    @Test
+    void changedFactoryInvalidatesTheSnapshot() {
+        this.write(KEYS, Keys.NAME, "A");
+
+        final HashCode fingerprint = this.cache.fingerprint(LOWERCASE_KEYS);
+
+        assertNotEquals(this.cache.fingerprint(KEYS), fingerprint);
+        assertNull(this.cache.read(fingerprint, LOWERCASE_KEYS));
+    }
+
+    @Test
+    void customFactoryIsNotCached() {
+        assertNull(this.cache.fingerprint(CUSTOM_KEYS));
+    }
+
+    private void write(final List<ConfigKey<?>> keys, final ConfigKey<String> key,
+            final String value) {
+        final KeyedConfiguration.ValuesMap values = new KeyedConfiguration.ValuesMap(
+                keys.size());
+
+        values.put(key, value);
+        this.cache.write(this.cache.fingerprint(keys), keys, values);
+    }
+
+    public static final class Keys {
+
+        public static final ConfigKey<String> NAME = ConfigKeyFactory.stringKey("name", "");
+
+        private Keys() {}
+    }
+
+    public static final class LowercaseKeys {
+
+        public static final ConfigKey<String> NAME = ConfigKeyFactory.lowercaseStringKey("name",
+                "");
+
+        private LowercaseKeys() {}
+    }
+
+    public static final class CustomKeys {
+
+        public static final ConfigKey<String> NAME = ConfigKeyFactory.key(
+                (adapter, path, def) -> adapter.getString(path, def).trim(), "name", "");
+
+        private CustomKeys() {}
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.util.Map;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import org.junit.jupiter.api.Test;
+
+class InterpolatorTest {
+
+    private static final Logger LOGGER = new Logger() {
+        @Override
+        public void info(final String s, final Object... args) {}
+
+        @Override
+        public void warn(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Throwable t) {}
+    };
+    private static final Map<String, String> VARIABLES = ImmutableMap.of("PORT", "8080");
+
+    @Test
+    void referencesAreExpanded() {
+        final ConfigurationNode root = interpolate(ImmutableMap.of(
+                "server.host", "example.org",
+                "url", "http://${server.host}:${PORT}/",
+                "missing", "${nothing}!"));
+
+        assertEquals("http://example.org:8080/", root.getNode("url").getValue());
+        assertEquals("${nothing}!", root.getNode("missing").getValue());
+    }
+
+    @Test
+    void chainedReferencesAreExpanded() {
+        final ConfigurationNode root = interpolate(ImmutableMap.of(
+                "a", "${b}-a",
+                "b", "${c}-b",
+                "c", "c"));
+
+        assertEquals("c-b-a", root.getNode("a").getValue());
+        assertEquals("c-b", root.getNode("b").getValue());
+    }
+
+    @Test
+    void cyclicValuesKeepTheirTemplates() {
+        final ConfigurationNode root = interpolate(ImmutableMap.of(
+                "a", "${b}",
+                "b", "x${a}",
+                "self", "${self}",
+                "c", "${a}-ok",
+                "d", "${c}"));
+
+        assertEquals("${b}", root.getNode("a").getValue());
+        assertEquals("x${a}", root.getNode("b").getValue());
+        assertEquals("${self}", root.getNode("self").getValue());
+        assertEquals("${a}-ok", root.getNode("c").getValue());
+        assertEquals("${a}-ok", root.getNode("d").getValue());
+    }
+
+    /**
+     * Builds a tree of the given values and expands it.
+     *
+     * @param values the values keyed by dotted path
+     * @return the root of the tree
+     */
+    private static ConfigurationNode interpolate(final Map<String, String> values) {
+        final ConfigurationNode root = SimpleConfigurationNode.root();
+
+        for (final Map.Entry<String, String> entry : values.entrySet()) {
+            root.getNode((Object[]) entry.getKey().split("\\.")).setValue(entry.getValue());
+        }
+
+        Interpolator.interpolate(LOGGER, VARIABLES::get, root);
+        return root;
+    }
+}
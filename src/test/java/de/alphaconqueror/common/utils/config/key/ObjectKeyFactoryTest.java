@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.key;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationAdapter;
+import de.alphaconqueror.common.utils.config.adapter.ConfigurationLayer;
+import de.alphaconqueror.common.utils.config.adapter.LayeredConfigAdapter;
+import de.alphaconqueror.common.utils.logging.Logger;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ObjectKeyFactoryTest {
+
+    private static final Logger LOGGER = new Logger() {
+        @Override
+        public void info(final String s, final Object... args) {}
+
+        @Override
+        public void warn(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Throwable t) {}
+    };
+
+    @Test
+    void mapsSection() {
+        final Database database = ObjectKeyFactory.of(Database.class)
+                .getValue(adapter(ImmutableMap.of("db.host", "example.org", "db.port", 5433,
+                        "db.hosts", ImmutableList.of("a", "b"))), "db", null);
+
+        assertEquals("example.org", database.host);
+        assertEquals(5433, database.port);
+        assertEquals(ImmutableList.of("a", "b"), database.hosts);
+    }
+
+    @Test
+    void missingListFallsBackToTheField() {
+        final Database database = ObjectKeyFactory.of(Database.class)
+                .getValue(adapter(ImmutableMap.of("db.host", "example.org")), "db", null);
+
+        assertEquals(ImmutableList.of("localhost"), database.hosts);
+        assertEquals(5432, database.port);
+    }
+
+    @Test
+    void recursiveClassIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ObjectKeyFactory.of(Node.class));
+        assertThrows(IllegalArgumentException.class, () -> ObjectKeyFactory.of(Outer.class));
+    }
+
+    private static ConfigurationAdapter adapter(final ImmutableMap<String, ?> values) {
+        return new LayeredConfigAdapter(LOGGER,
+                Collections.singletonList(ConfigurationLayer.of(values)));
+    }
+
+    public static class Database {
+
+        private String host = "localhost";
+        private int port = 5432;
+        private List<String> hosts = ImmutableList.of("localhost");
+    }
+
+    public static class Node {
+
+        private String name;
+        private Node next;
+    }
+
+    public static class Outer {
+
+        private Inner inner;
+    }
+
+    public static class Inner {
+
+        private Outer outer;
+    }
+}
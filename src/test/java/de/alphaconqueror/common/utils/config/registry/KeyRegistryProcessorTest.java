@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.config.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compiles keys classes with the processor and checks the generated registries.
+ */
+class KeyRegistryProcessorTest {
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("key-registry");
+    }
+
+    @Test
+    void registryHoldsTheKeysInDeclarationOrder() throws Exception {
+        final boolean compiled = this.compile("Keys", "@GenerateKeyRegistry\n"
+                + "public final class Keys {\n"
+                + "    public static final ConfigKey<String> NAME = "
+                + "ConfigKeyFactory.stringKey(\"name\", \"\");\n"
+                + "    public static final ConfigKey<Integer> COUNT = "
+                + "ConfigKeyFactory.intKey(\"count\", 0);\n"
+                + "    public static final String NOT_A_KEY = \"\";\n"
+                + "    static final ConfigKey<Long> NOT_PUBLIC = "
+                + "ConfigKeyFactory.longKey(\"hidden\", 0L);\n"
+                + "    public static final ConfigKey<Boolean> ENABLED = "
+                + "ConfigKeyFactory.booleanKey(\"enabled\", false);\n"
+                + "}\n");
+
+        assertTrue(compiled);
+
+        try (final URLClassLoader loader = new URLClassLoader(
+                new URL[]{this.directory.toUri().toURL()}, this.getClass().getClassLoader())) {
+            final KeyRegistry registry = (KeyRegistry) loader.loadClass("generated.KeysRegistry")
+                    .getField("KEYS")
+                    .get(null);
+
+            assertEquals(ImmutableList.of("name", "count", "enabled"), registry.paths());
+            assertEquals(0, registry.keys().get(0).ordinal());
+            assertEquals(2, registry.keys().get(2).ordinal());
+        }
+    }
+
+    @Test
+    void inheritedKeysAreRejected() throws IOException {
+        final boolean compiled = this.compile("Keys", "@GenerateKeyRegistry\n"
+                + "public final class Keys extends BaseKeys {\n"
+                + "    public static final ConfigKey<Integer> COUNT = "
+                + "ConfigKeyFactory.intKey(\"count\", 0);\n"
+                + "}\n"
+                + "class BaseKeys {\n"
+                + "    public static final ConfigKey<String> NAME = "
+                + "ConfigKeyFactory.stringKey(\"name\", \"\");\n"
+                + "}\n");
+
+        assertFalse(compiled);
+        assertTrue(this.diagnostics.getDiagnostics()
+                .stream()
+                .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR
+                        && diagnostic.getMessage(null).contains("supertypes")));
+    }
+
+    /**
+     * Compiles the given class body in the package {@code generated} with the processor.
+     *
+     * @param name the name of the class
+     * @param body the source of the class, without package and imports
+     * @return if the compilation succeeded
+     * @throws IOException if the source could not be written
+     */
+    private boolean compile(final String name, final String body) throws IOException {
+        final Path source = this.directory.resolve(name + ".java");
+
+        Files.write(source, ("package generated;\n\n"
+                + "import de.alphaconqueror.common.utils.config.key.ConfigKey;\n"
+                + "import de.alphaconqueror.common.utils.config.key.ConfigKeyFactory;\n"
+                + "import de.alphaconqueror.common.utils.config.registry.GenerateKeyRegistry;\n\n"
+                + body).getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        try (final StandardJavaFileManager files = compiler.getStandardFileManager(null, null,
+                StandardCharsets.UTF_8)) {
+            final List<String> options = Arrays.asList("-d", this.directory.toString(), "-s",
+                    this.directory.toString(), "-classpath",
+                    System.getProperty("java.class.path"));
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, files,
+                    this.diagnostics, options, null,
+                    files.getJavaFileObjects(source.toFile()));
+
+            task.setProcessors(Collections.singletonList(new KeyRegistryProcessor()));
+            return task.call();
+        }
+    }
+}
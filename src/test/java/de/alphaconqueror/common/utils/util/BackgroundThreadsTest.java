@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs against the Java 8 classes by {@code test} and against the multi-release jar on Java 21
+ * by {@code testJava21}, which sets {@code test.variant} to {@code java21}.
+ */
+class BackgroundThreadsTest {
+
+    private static final boolean JAVA_21 = "java21".equals(System.getProperty("test.variant"));
+
+    @Test
+    void newThreadIsUnstarted() {
+        final Thread thread = BackgroundThreads.newThread("test", () -> {});
+
+        assertEquals("test", thread.getName());
+        assertEquals(Thread.State.NEW, thread.getState());
+    }
+
+    @Test
+    void newThreadDoesNotKeepTheJvmAlive() throws ReflectiveOperationException {
+        final Thread thread = BackgroundThreads.newThread("test", () -> {});
+
+        assertTrue(thread.isDaemon());
+        assertEquals(JAVA_21, isVirtual(thread));
+    }
+
+    @Test
+    void reloadExecutorRunsTasks() throws Exception {
+        final CompletableFuture<Thread> future = new CompletableFuture<>();
+
+        BackgroundThreads.reloadExecutor().execute(() -> future.complete(Thread.currentThread()));
+
+        assertEquals(JAVA_21, isVirtual(future.get(10, TimeUnit.SECONDS)));
+    }
+
+    private static boolean isVirtual(final Thread thread) throws ReflectiveOperationException {
+        final Method isVirtual;
+
+        try {
+            isVirtual = Thread.class.getMethod("isVirtual");
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+
+        return (Boolean) isVirtual.invoke(thread);
+    }
+}
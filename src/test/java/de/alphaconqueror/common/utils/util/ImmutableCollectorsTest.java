@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ImmutableCollectorsTest {
+
+    @Test
+    void presizedSetKeepsTheEncounterOrder() {
+        final ImmutableSet<Integer> expected = this.numbers()
+                .collect(ImmutableSet.toImmutableSet());
+
+        assertEquals(expected.asList(),
+                this.numbers().collect(ImmutableCollectors.toSet(10)).asList());
+        assertEquals(expected.asList(),
+                this.numbers().parallel().collect(ImmutableCollectors.toSet(10)).asList());
+    }
+
+    @Test
+    void presizedMapKeepsTheEncounterOrder() {
+        final ImmutableMap<Integer, String> expected = IntStream.range(0, 1000)
+                .boxed()
+                .collect(ImmutableMap.toImmutableMap(Function.identity(), String::valueOf));
+        final Collector<Integer, ?, ImmutableMap<Integer, String>> collector = ImmutableCollectors
+                .toMap(Function.identity(), String::valueOf, 10);
+
+        assertEquals(expected.entrySet().asList(), IntStream.range(0, 1000)
+                .boxed()
+                .collect(collector)
+                .entrySet()
+                .asList());
+        assertEquals(expected.entrySet().asList(), IntStream.range(0, 1000)
+                .boxed()
+                .parallel()
+                .collect(collector)
+                .entrySet()
+                .asList());
+    }
+
+    @Test
+    void presizedMapRejectsDuplicateKeys() {
+        final Collector<Integer, ?, ImmutableMap<Integer, Integer>> collector = ImmutableCollectors
+                .toMap(i -> i % 10, Function.identity(), 10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> IntStream.range(0, 1000).boxed().collect(collector));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntStream.range(0, 1000).boxed().parallel().collect(collector));
+    }
+
+    @Test
+    void presizedListCanBeReused() {
+        final Collector<Integer, ?, ImmutableList<Integer>> collector = ImmutableCollectors.toList(
+                10);
+
+        assertEquals(this.numbers().collect(ImmutableList.toImmutableList()),
+                this.numbers().parallel().collect(collector));
+        assertEquals(this.numbers().collect(ImmutableList.toImmutableList()),
+                this.numbers().parallel().collect(collector));
+    }
+
+    @Test
+    void sortedSetMergesPartitions() {
+        final ImmutableSortedSet<Integer> expected = ImmutableSortedSet.copyOf(
+                this.numbers().iterator());
+
+        assertEquals(expected.asList(),
+                this.numbers().collect(ImmutableCollectors.toSortedSet()).asList());
+        assertEquals(expected.asList(),
+                this.numbers().parallel().collect(ImmutableCollectors.toSortedSet()).asList());
+    }
+
+    @Test
+    void sortedSetKeepsTheFirstOfEqualElements() {
+        // the upper case name is encountered first in every pair
+        final Collector<String, ?, ImmutableSortedSet<String>> collector = ImmutableCollectors
+                .toSortedSet(String.CASE_INSENSITIVE_ORDER);
+        final ImmutableList<String> expected = IntStream.range(0, 300)
+                .mapToObj(i -> "N" + i)
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .collect(ImmutableList.toImmutableList());
+
+        assertEquals(expected, this.names().collect(collector).asList());
+        assertEquals(expected, this.names().parallel().collect(collector).asList());
+    }
+
+    private Stream<String> names() {
+        return Stream.concat(IntStream.range(0, 300).mapToObj(i -> "N" + i),
+                IntStream.range(0, 300).mapToObj(i -> "n" + i));
+    }
+
+    private Stream<Integer> numbers() {
+        // plenty of duplicates spread over all partitions
+        return IntStream.range(0, 1000).map(i -> i * 7 % 300).boxed();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.common.utils.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.ImmutableIntArray;
+import org.junit.jupiter.api.Test;
+
+class StringIntMapTest {
+
+    @Test
+    void copyOfSortedEqualsCopyOf() {
+        final StringIntMap sorted = StringIntMap.copyOfSorted(ImmutableList.of("a", "b", "c"),
+                ImmutableIntArray.of(1, 2, 3));
+
+        assertEquals(StringIntMap.copyOf(ImmutableMap.of("c", 3, "a", 1, "b", 2)), sorted);
+        assertEquals(2, sorted.get("b", -1));
+        assertEquals(-1, sorted.get("d", -1));
+        assertTrue(sorted.containsKey("c"));
+        assertFalse(sorted.containsKey("d"));
+    }
+
+    @Test
+    void copyOfSortedAcceptsSubArrays() {
+        final ImmutableIntArray values = ImmutableIntArray.of(1, 2, 3, 4).subArray(1, 3);
+        final StringIntMap map = StringIntMap.copyOfSorted(ImmutableList.of("a", "b"), values);
+
+        assertEquals(ImmutableIntArray.of(2, 3), map.values());
+        assertEquals(3, map.get("b", -1));
+    }
+
+    @Test
+    void copyOfSortedOfNothingIsEmpty() {
+        assertEquals(StringIntMap.of(), StringIntMap.copyOfSorted(ImmutableList.of(),
+                ImmutableIntArray.of()));
+    }
+
+    @Test
+    void copyOfSortedRejectsUnsortedKeys() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StringIntMap.copyOfSorted(ImmutableList.of("b", "a"),
+                        ImmutableIntArray.of(1, 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> StringIntMap.copyOfSorted(ImmutableList.of("a", "a"),
+                        ImmutableIntArray.of(1, 2)));
+    }
+
+    @Test
+    void copyOfSortedRejectsMismatchedValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StringIntMap.copyOfSorted(ImmutableList.of("a", "b"),
+                        ImmutableIntArray.of(1)));
+    }
+}